@@ -0,0 +1,100 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of user events in each wire format, as paid by the producer when
+ * it writes the outbox row and by the consumer when it decodes a record. SNAPSHOT is a
+ * full-state event such as USER_CREATED; DELTA is a USER_UPDATED carrying two changed
+ * fields. The encoded size is printed once per trial as bytes/event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserEventCodecBenchmark {
+
+    private static final String TOPIC = "user-events";
+
+    @Param({"JSON", "BINARY"})
+    private UserEventWireFormat format;
+
+    @Param({"SNAPSHOT", "DELTA"})
+    private String shape;
+
+    private UserEventSerializer serializer;
+    private UserEventDeserializer deserializer;
+    private UserEventDTO event;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        serializer = new UserEventSerializer(jacksonConfig.objectMapper(), format, Map.of());
+        deserializer = new UserEventDeserializer(jacksonConfig.objectMapper());
+        event = "DELTA".equals(shape) ? delta() : snapshot();
+        encoded = serializer.serialize(TOPIC, event);
+        System.out.printf("%n%s %s: %d bytes/event%n", format, shape, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public UserEventDTO decode() {
+        return deserializer.deserialize(TOPIC, encoded);
+    }
+
+    private static UserEventDTO snapshot() {
+        return UserEventDTO.builder()
+                .eventType(UserEventDTO.EventType.USER_CREATED.name())
+                .userId(1_234_567L)
+                .email("jane.doe@example.com")
+                .firstName("Jane")
+                .lastName("Doe")
+                .role(User.UserRole.MANAGER)
+                .status(User.UserStatus.ACTIVE)
+                .eventTimestamp(LocalDateTime.of(2024, 5, 17, 9, 30, 15))
+                .performedBy("system")
+                .sourceInstanceId("3f2b8c9e-61a4-4d6f-9a5e-7c1d2b3a4f50")
+                .build();
+    }
+
+    private static UserEventDTO delta() {
+        List<UserFieldChange> changes = List.of(
+                new UserFieldChange(UserField.CITY, "Baku", "Ganja"),
+                new UserFieldChange(UserField.ROLE, "USER", "MANAGER"));
+        return UserEventDTO.builder()
+                .eventType(UserEventDTO.EventType.USER_UPDATED.name())
+                .userId(1_234_567L)
+                .role(User.UserRole.MANAGER)
+                .status(User.UserStatus.ACTIVE)
+                .previousRole(User.UserRole.USER)
+                .previousStatus(User.UserStatus.ACTIVE)
+                .changedFields(UserField.toMask(List.of(UserField.CITY, UserField.ROLE)))
+                .changes(changes)
+                .eventTimestamp(LocalDateTime.of(2024, 5, 17, 9, 30, 15))
+                .performedBy("system")
+                .sourceInstanceId("3f2b8c9e-61a4-4d6f-9a5e-7c1d2b3a4f50")
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.usermanagement.service.impl;
+
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.dto.PageResponse;
+import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-path cost outside the database: mapping entities to {@link UserResponse},
+ * assembling the {@link PageResponse} (including the next-page cursor) and writing
+ * both as JSON with the application's {@code ObjectMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserResponseBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private List<User> users;
+    private UserResponse response;
+    private Page<UserResponse> page;
+    private PageResponse<UserResponse> pageResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(user(1_000L + i));
+        }
+        user = users.get(0);
+        response = UserResponse.fromEntity(user);
+        List<UserResponse> content = users.stream().map(UserResponse::fromEntity).toList();
+        page = new PageImpl<>(content, PageRequest.of(3, pageSize, Sort.by("id")), 250_000L);
+        pageResponse = UserServiceImpl.buildPageResponse(page);
+    }
+
+    @Benchmark
+    public UserResponse fromEntity() {
+        return UserResponse.fromEntity(user);
+    }
+
+    @Benchmark
+    public List<UserResponse> fromEntityPage() {
+        List<UserResponse> content = new ArrayList<>(users.size());
+        for (User entity : users) {
+            content.add(UserResponse.fromEntity(entity));
+        }
+        return content;
+    }
+
+    @Benchmark
+    public PageResponse<UserResponse> buildPageResponse() {
+        return UserServiceImpl.buildPageResponse(page);
+    }
+
+    @Benchmark
+    public byte[] writeUserResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writePageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    private static User user(long id) {
+        LocalDateTime created = LocalDateTime.of(2024, 5, 17, 9, 30, 15);
+        return User.builder()
+                .id(id)
+                .firstName("Jane")
+                .lastName("Doe-" + id)
+                .email("jane.doe." + id + "@example.com")
+                .phone("+994501234567")
+                .address("28 May Street 12")
+                .city("Baku")
+                .country("Azerbaijan")
+                .postalCode("AZ1000")
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .bio("Backend engineer")
+                .avatarUrl("https://cdn.example.com/avatars/" + id + ".png")
+                .createdAt(created)
+                .updatedAt(created.plusDays(3))
+                .lastLoginAt(created.plusDays(10))
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.usermanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+    public static final String USER_COUNTS_CACHE = "userCounts";
+    public static final String USER_STATS_CACHE = "userStats";
+
+    @Value("${app.cache.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${app.cache.users.ttl:10m}")
+    private Duration usersTtl;
+
+    @Value("${app.cache.user-counts.max-size:1000}")
+    private long userCountsMaxSize;
+
+    @Value("${app.cache.user-counts.ttl:60s}")
+    private Duration userCountsTtl;
+
+    @Value("${app.cache.user-stats.ttl:30s}")
+    private Duration userStatsTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USERS_CACHE, Caffeine.newBuilder()
+                .maximumSize(usersMaxSize)
+                .expireAfterWrite(usersTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USER_COUNTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(userCountsMaxSize)
+                .expireAfterWrite(userCountsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USER_STATS_CACHE, Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(userStatsTtl)
+                .recordStats()
+                .build());
+        // Puts and evictions issued inside a transaction are deferred until it commits, so a
+        // rolled-back write never touches the cache. This does not stop a reader that loaded
+        // the row before the commit from putting it back after the eviction. If that happens
+        // before the update's event arrives, the event consumer patches the entry forward
+        // (its version is the one the delta follows); otherwise it stays stale until usersTtl.
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.usermanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// One id per running instance. ${random.uuid} yields a new value on every lookup,
+// so the Kafka group id and event tagging both read it from here.
+// The id names this instance's consumer groups, so it has to survive restarts: a new
+// id on every start leaves the previous groups behind on the broker. Only the dev
+// profile falls back to a random id.
+@Component
+@Slf4j
+public class InstanceIdentity {
+
+    private final String id;
+
+    public InstanceIdentity(
+            @Value("${app.instance-id:}") String configuredId,
+            @Value("${app.instance-id.random-fallback:false}") boolean randomFallback
+    ) {
+        if (!configuredId.isBlank()) {
+            this.id = configuredId;
+        } else if (randomFallback) {
+            this.id = UUID.randomUUID().toString();
+            log.warn("app.instance-id is not set, using random instance id {}", id);
+        } else {
+            throw new IllegalStateException("app.instance-id (APP_INSTANCE_ID) must be set to a value that is "
+                    + "stable across restarts, such as the pod name");
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+}
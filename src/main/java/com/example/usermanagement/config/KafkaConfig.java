@@ -1,17 +1,39 @@
 package com.example.usermanagement.config;
 
+import com.example.usermanagement.kafka.UserEventRetryTopics;
+import com.example.usermanagement.kafka.UserEventSerializer;
+import com.example.usermanagement.kafka.UserEventWireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
@@ -23,28 +45,169 @@ public class KafkaConfig {
     @Value("${kafka.topic.user-events}")
     private String userEventsTopic;
 
+    // Also the listener concurrency, so every partition gets its own consumer thread.
+    @Value("${kafka.topic.user-events.partitions:3}")
+    private int userEventsPartitions;
+
+    @Value("${kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    // Caps how long send() may block on missing metadata or a full buffer (Kafka's default is 60s).
+    @Value("${kafka.producer.max-block-ms:5000}")
+    private long maxBlockMs;
+
+    // json keeps old consumers working; switch to binary once every consumer runs UserEventDeserializer.
+    @Value("${kafka.topic.user-events.format:json}")
+    private String userEventsFormat;
+
+    @Value("${kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${kafka.consumer.fetch-min-bytes:1}")
+    private int fetchMinBytes;
+
+    @Value("${kafka.consumer.fetch-max-wait:500ms}")
+    private Duration fetchMaxWait;
+
+    @Value("${kafka.consumer.max-partition-fetch-bytes:1048576}")
+    private int maxPartitionFetchBytes;
+
+    @Value("${kafka.consumer.auto-offset-reset:latest}")
+    private String autoOffsetReset;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
+    public ProducerFactory<String, byte[]> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    // Events are encoded when they enter the outbox, so the template only ships bytes.
+    @Bean
+    public UserEventSerializer userEventSerializer(ObjectMapper objectMapper) {
+        return new UserEventSerializer(objectMapper, UserEventWireFormat.JSON,
+                Map.of(userEventsTopic, UserEventWireFormat.fromValue(userEventsFormat)));
+    }
+
+    // Values stay raw bytes and the listeners decode them, so a failed record is
+    // republished to the retry tiers and the DLT exactly as it was produced.
+    @Bean
+    public ConsumerFactory<String, byte[]> userEventsConsumerFactory(MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) fetchMaxWait.toMillis());
+        configProps.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, maxPartitionFetchBytes);
+        DefaultKafkaConsumerFactory<String, byte[]> factory = new DefaultKafkaConsumerFactory<>(configProps,
+                new StringDeserializer(), new ByteArrayDeserializer());
+        // Publishes the client's own metrics, including kafka.consumer.fetch.manager.records.lag(.max).
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    // Republishes the consumed bytes through the byte-array template, so retries and dead
+    // letters keep the producer's wire format (binary v3 or JSON) unchanged.
+    @Bean
+    public DeadLetterPublishingRecoverer userEventsDeadLetterRecoverer(
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            UserEventRetryTopics userEventRetryTopics,
+            InstanceIdentity instanceIdentity
+    ) {
+        DeadLetterPublishingRecoverer recoverer =
+                new DeadLetterPublishingRecoverer(kafkaTemplate, userEventRetryTopics::destination);
+        recoverer.setHeadersFunction((record, exception) ->
+                userEventRetryTopics.nextAttemptHeaders(record, instanceIdentity.getId()));
+        // Keep the first kafka_dlt-original-* headers so the DLT points at the user-events offset.
+        recoverer.setAppendOriginalHeaders(false);
+        return recoverer;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> userEventsListenerContainerFactory(
+            ConsumerFactory<String, byte[]> userEventsConsumerFactory,
+            DeadLetterPublishingRecoverer userEventsDeadLetterRecoverer
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(userEventsConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(userEventsPartitions);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        configureListenerExecutor(factory, "user-events-");
+        // A BatchListenerFailedException commits the records before the failing one, hands
+        // that record to the first retry tier right away and carries on with the rest, so a
+        // poison record never stalls its partition.
+        factory.setCommonErrorHandler(new DefaultErrorHandler(userEventsDeadLetterRecoverer, new FixedBackOff(0L, 0L)));
+        return factory;
+    }
+
+    // Retry tiers are consumed one record at a time; AckMode.MANUAL lets the listener
+    // nack-and-sleep until a record is due instead of blocking the poll loop.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> userEventsRetryContainerFactory(
+            ConsumerFactory<String, byte[]> userEventsConsumerFactory,
+            DeadLetterPublishingRecoverer userEventsDeadLetterRecoverer
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(userEventsConsumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        configureListenerExecutor(factory, "user-events-retry-");
+        factory.setCommonErrorHandler(new DefaultErrorHandler(userEventsDeadLetterRecoverer, new FixedBackOff(0L, 0L)));
+        return factory;
+    }
+
     @Bean
     public NewTopic userEventsTopic() {
         return TopicBuilder.name(userEventsTopic)
-                .partitions(3)
+                .partitions(userEventsPartitions)
                 .replicas(1)
                 .build();
     }
+
+    @Bean
+    public KafkaAdmin.NewTopics userEventsRetryTopics(UserEventRetryTopics userEventRetryTopics) {
+        List<NewTopic> topics = new ArrayList<>();
+        for (String topic : userEventRetryTopics.retryTopics()) {
+            topics.add(TopicBuilder.name(topic).partitions(userEventsPartitions).replicas(1).build());
+        }
+        topics.add(TopicBuilder.name(userEventRetryTopics.deadLetterTopic())
+                .partitions(userEventsPartitions)
+                .replicas(1)
+                .build());
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+
+    // Boot only switches its own container factory to virtual threads, so ours opt in here.
+    // Consumer threads spend most of their time blocked in poll(), which a virtual thread
+    // does without holding on to a platform thread.
+    private void configureListenerExecutor(ConcurrentKafkaListenerContainerFactory<?, ?> factory, String threadPrefix) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadPrefix);
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package com.example.usermanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true}. Boot itself then runs Tomcat
+ * requests, {@code @Scheduled} jobs such as the outbox relay and its own Kafka listener
+ * containers on virtual threads; {@link KafkaConfig} does the same for ours. This adds
+ * the connection permit gate in front of the pool and the pinning monitor.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // Sized from the pool itself unless app.datasource.max-concurrency says otherwise.
+    @Bean
+    public static BeanPostProcessor connectionPermitDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionPermitDataSource) {
+                    return bean;
+                }
+                int poolSize = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                int maxConcurrency = environment.getProperty("app.datasource.max-concurrency", Integer.class, poolSize);
+                Duration timeout = environment.getProperty("app.datasource.acquire-timeout", Duration.class,
+                        Duration.ofSeconds(5));
+                return new ConnectionPermitDataSource(dataSource, maxConcurrency, timeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionPermitDataSource permits = unwrap(dataSource);
+            if (permits == null) {
+                return;
+            }
+            Gauge.builder("db.connection.permits.in-use", permits, ConnectionPermitDataSource::getInUse)
+                    .description("Connections checked out through the permit gate")
+                    .register(registry);
+            Gauge.builder("db.connection.permits.waiting", permits, ConnectionPermitDataSource::getWaiting)
+                    .description("Threads waiting for a connection permit")
+                    .register(registry);
+            FunctionCounter.builder("db.connection.permits.rejected", permits, ConnectionPermitDataSource::getRejected)
+                    .description("Connection requests that timed out waiting for a permit")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinned-threshold:20ms}") Duration pinnedThreshold,
+            MeterRegistry meterRegistry
+    ) {
+        return new VirtualThreadPinningMonitor(pinnedThreshold, meterRegistry);
+    }
+
+    private static ConnectionPermitDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConnectionPermitDataSource.class)
+                    ? dataSource.unwrap(ConnectionPermitDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -1,9 +1,24 @@
 package com.example.usermanagement.controller;
 
+import com.example.usermanagement.dto.BatchUserRequest;
+import com.example.usermanagement.dto.BatchUserResponse;
+import com.example.usermanagement.dto.ExportFormat;
+import com.example.usermanagement.dto.ImportJobStatus;
 import com.example.usermanagement.dto.PageResponse;
+import com.example.usermanagement.dto.PageTotalMode;
+import com.example.usermanagement.dto.StatsBucket;
+import com.example.usermanagement.dto.UserPatchRequest;
 import com.example.usermanagement.dto.UserRequest;
+import com.example.usermanagement.dto.UserExportFilter;
 import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserStatsResponse;
+import com.example.usermanagement.dto.UserSuggestion;
 import com.example.usermanagement.entity.User;
+import com.example.usermanagement.exception.InvalidExportRequestException;
+import com.example.usermanagement.service.UserBatchService;
+import com.example.usermanagement.service.UserExportService;
+import com.example.usermanagement.service.UserImportService;
 import com.example.usermanagement.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,12 +31,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -30,7 +49,24 @@ import java.util.Map;
 @Tag(name = "User Management", description = "APIs for managing users")
 public class UserController {
 
+    private static final String CURSOR_DESCRIPTION =
+            "Opaque cursor taken from a previous response's nextCursor; switches to keyset pagination (send an empty value to start)";
+
+    private static final String WITH_TOTAL_DESCRIPTION =
+            "Set to false to skip the total count query; totalElements and totalPages are then omitted";
+
+    private static final String APPROXIMATE_TOTAL_DESCRIPTION =
+            "Return a cached total that may be up to a minute stale instead of counting on every request";
+
+    private static final String FIELDS_DESCRIPTION =
+            "Comma-separated response fields to load, e.g. id,email,firstName (default: all); unselected fields are null";
+
+    private static final int MAX_EXPORT_PARTITIONS = 8;
+
     private final UserService userService;
+    private final UserBatchService userBatchService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
 
     @PostMapping
     @Operation(summary = "Create a new user", description = "Creates a new user with the provided information")
@@ -45,6 +81,21 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create users in batch",
+            description = "Creates up to 10000 users in one request and reports the outcome of each item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All users created successfully"),
+            @ApiResponse(responseCode = "207", description = "Some users were invalid or duplicates; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public ResponseEntity<BatchUserResponse> createUsers(@Valid @RequestBody BatchUserRequest request) {
+        log.info("REST request to create {} users in batch", request.getUsers().size());
+        BatchUserResponse response = userBatchService.createUsers(request.getUsers());
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Retrieves a user by their unique identifier")
     @ApiResponses(value = {
@@ -68,12 +119,20 @@ public class UserController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "id") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "ASC") String sortDir
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "ASC") String sortDir,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String after,
+            @Parameter(description = WITH_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = APPROXIMATE_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "false") boolean approximateTotal,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
     ) {
         log.info("REST request to get all users with pagination");
         Sort.Direction direction = sortDir.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if (after != null) {
+            return ResponseEntity.ok(userService.getAllUsers(after, size, Sort.by(direction, sortBy)));
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        PageResponse<UserResponse> response = userService.getAllUsers(pageable);
+        PageTotalMode totalMode = PageTotalMode.of(withTotal, approximateTotal);
+        PageResponse<UserResponse> response = userService.getAllUsers(pageable, totalMode, UserField.parse(fields));
         return ResponseEntity.ok(response);
     }
 
@@ -94,6 +153,24 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update user",
+            description = "Updates only the fields present in the request; an unchanged user is not written")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "409", description = "Email already exists")
+    })
+    public ResponseEntity<UserResponse> patchUser(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @Valid @RequestBody UserPatchRequest request
+    ) {
+        log.info("REST request to patch user: {}", id);
+        UserResponse response = userService.patchUser(id, request);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete user", description = "Deletes a user by their ID")
     @ApiResponses(value = {
@@ -118,15 +195,110 @@ public class UserController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDir
+            @RequestParam(defaultValue = "ASC") String sortDir,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String after,
+            @Parameter(description = WITH_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = APPROXIMATE_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "false") boolean approximateTotal
     ) {
         log.info("REST request to search users with term: {}", q);
         Sort.Direction direction = sortDir.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if (after != null) {
+            return ResponseEntity.ok(userService.searchUsers(q, after, size, Sort.by(direction, sortBy)));
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        PageResponse<UserResponse> response = userService.searchUsers(q, pageable);
+        PageTotalMode totalMode = PageTotalMode.of(withTotal, approximateTotal);
+        PageResponse<UserResponse> response = userService.searchUsers(q, pageable, totalMode);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export users",
+            description = "Streams all matching users as NDJSON or CSV without loading them into memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or partition count")
+    })
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @Parameter(description = "Export format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Only export users with this role") @RequestParam(required = false) User.UserRole role,
+            @Parameter(description = "Only export users with this status") @RequestParam(required = false) User.UserStatus status,
+            @Parameter(description = "Only export users from this country") @RequestParam(required = false) String country,
+            @Parameter(description = "Number of parallel id-range readers (1-8); rows are then not in id order")
+            @RequestParam(defaultValue = "1") int partitions
+    ) {
+        log.info("REST request to export users as {}", format);
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        if (partitions < 1 || partitions > MAX_EXPORT_PARTITIONS) {
+            throw new InvalidExportRequestException("Partitions must be between 1 and " + MAX_EXPORT_PARTITIONS);
+        }
+        UserExportFilter filter = UserExportFilter.builder()
+                .role(role)
+                .status(status)
+                .country(country)
+                .build();
+
+        StreamingResponseBody body = outputStream ->
+                userExportService.exportUsers(exportFormat, filter, partitions, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"users." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Import users",
+            description = "Streams a CSV (with header row) or NDJSON body into the database in fixed-size chunks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; see the summary for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format")
+    })
+    public ResponseEntity<ImportJobStatus> importUsers(
+            @Parameter(description = "Body format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Optional client-chosen job id, to poll progress while the upload runs")
+            @RequestParam(required = false) String jobId,
+            InputStream body
+    ) throws IOException {
+        log.info("REST request to import users as {}", format);
+        ImportJobStatus response = userImportService.importUsers(jobId, ExportFormat.fromValue(format), body);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/import")
+    @Operation(summary = "List import jobs", description = "Retrieves running and recently finished import jobs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import jobs retrieved successfully")
+    })
+    public ResponseEntity<List<ImportJobStatus>> getImportJobs() {
+        return ResponseEntity.ok(userImportService.getImportJobs());
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get import job", description = "Retrieves the progress of an import job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import job found"),
+            @ApiResponse(responseCode = "404", description = "Import job not found")
+    })
+    public ResponseEntity<ImportJobStatus> getImportJob(
+            @Parameter(description = "Import job ID") @PathVariable String jobId
+    ) {
+        return ResponseEntity.ok(userImportService.getImportJob(jobId));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete users",
+            description = "Suggests users whose first name, last name, full name or email starts with the prefix")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+    })
+    public ResponseEntity<List<UserSuggestion>> autocomplete(
+            @Parameter(description = "Prefix typed so far") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions (up to 50)") @RequestParam(defaultValue = "10") int limit
+    ) {
+        log.debug("REST request to autocomplete users with prefix: {}", prefix);
+        return ResponseEntity.ok(userService.autocomplete(prefix, limit));
+    }
+
     @GetMapping("/filter/role/{role}")
     @Operation(summary = "Filter by role", description = "Retrieves users by role with pagination")
     @ApiResponses(value = {
@@ -135,11 +307,19 @@ public class UserController {
     public ResponseEntity<PageResponse<UserResponse>> getUsersByRole(
             @Parameter(description = "User role") @PathVariable User.UserRole role,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String after,
+            @Parameter(description = WITH_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = APPROXIMATE_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "false") boolean approximateTotal,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
     ) {
         log.info("REST request to get users by role: {}", role);
+        if (after != null) {
+            return ResponseEntity.ok(userService.getUsersByRole(role, after, size));
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
-        PageResponse<UserResponse> response = userService.getUsersByRole(role, pageable);
+        PageTotalMode totalMode = PageTotalMode.of(withTotal, approximateTotal);
+        PageResponse<UserResponse> response = userService.getUsersByRole(role, pageable, totalMode, UserField.parse(fields));
         return ResponseEntity.ok(response);
     }
 
@@ -151,11 +331,19 @@ public class UserController {
     public ResponseEntity<PageResponse<UserResponse>> getUsersByStatus(
             @Parameter(description = "User status") @PathVariable User.UserStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String after,
+            @Parameter(description = WITH_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = APPROXIMATE_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "false") boolean approximateTotal,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
     ) {
         log.info("REST request to get users by status: {}", status);
+        if (after != null) {
+            return ResponseEntity.ok(userService.getUsersByStatus(status, after, size));
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
-        PageResponse<UserResponse> response = userService.getUsersByStatus(status, pageable);
+        PageTotalMode totalMode = PageTotalMode.of(withTotal, approximateTotal);
+        PageResponse<UserResponse> response = userService.getUsersByStatus(status, pageable, totalMode, UserField.parse(fields));
         return ResponseEntity.ok(response);
     }
 
@@ -165,10 +353,11 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "Users retrieved successfully")
     })
     public ResponseEntity<List<UserResponse>> getUsersByCity(
-            @Parameter(description = "City name") @PathVariable String city
+            @Parameter(description = "City name") @PathVariable String city,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
     ) {
         log.info("REST request to get users by city: {}", city);
-        List<UserResponse> response = userService.getUsersByCity(city);
+        List<UserResponse> response = userService.getUsersByCity(city, UserField.parse(fields));
         return ResponseEntity.ok(response);
     }
 
@@ -178,29 +367,27 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "Users retrieved successfully")
     })
     public ResponseEntity<List<UserResponse>> getUsersByCountry(
-            @Parameter(description = "Country name") @PathVariable String country
+            @Parameter(description = "Country name") @PathVariable String country,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
     ) {
         log.info("REST request to get users by country: {}", country);
-        List<UserResponse> response = userService.getUsersByCountry(country);
+        List<UserResponse> response = userService.getUsersByCountry(country, UserField.parse(fields));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/stats")
-    @Operation(summary = "Get user statistics", description = "Retrieves statistics about users")
+    @Operation(summary = "Get user statistics",
+            description = "Retrieves the role x status matrix and optional breakdowns; served from a short-lived cache")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
     })
-    public ResponseEntity<Map<String, Object>> getUserStats() {
+    public ResponseEntity<UserStatsResponse> getUserStats(
+            @Parameter(description = "Include a breakdown by country") @RequestParam(defaultValue = "false") boolean byCountry,
+            @Parameter(description = "Include sign-ups over time, bucketed by DAY, WEEK or MONTH")
+            @RequestParam(required = false) StatsBucket createdBucket
+    ) {
         log.info("REST request to get user statistics");
-        Map<String, Object> stats = Map.of(
-                "activeUsers", userService.countUsersByStatus(User.UserStatus.ACTIVE),
-                "inactiveUsers", userService.countUsersByStatus(User.UserStatus.INACTIVE),
-                "suspendedUsers", userService.countUsersByStatus(User.UserStatus.SUSPENDED),
-                "pendingUsers", userService.countUsersByStatus(User.UserStatus.PENDING),
-                "admins", userService.countUsersByRole(User.UserRole.ADMIN),
-                "managers", userService.countUsersByRole(User.UserRole.MANAGER),
-                "regularUsers", userService.countUsersByRole(User.UserRole.USER)
-        );
+        UserStatsResponse stats = userService.getUserStats(byCountry, createdBucket);
         return ResponseEntity.ok(stats);
     }
 }
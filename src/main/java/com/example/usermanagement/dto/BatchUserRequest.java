@@ -0,0 +1,21 @@
+package com.example.usermanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+// Items are validated one by one by the batch service, so an invalid item
+// is reported in its result instead of rejecting the whole request.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchUserRequest {
+
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 10000, message = "A batch must not exceed 10000 users")
+    private List<UserRequest> users;
+}
@@ -0,0 +1,37 @@
+package com.example.usermanagement.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchUserResponse {
+
+    private int requested;
+    private int created;
+    private int failed;
+    private List<ItemResult> results;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        private int index;
+        private String email;
+        private ItemStatus status;
+        private Long id;
+        private List<String> errors;
+    }
+
+    public enum ItemStatus {
+        CREATED,
+        INVALID,
+        DUPLICATE
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.usermanagement.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreatedDayCount {
+
+    private Integer year;
+    private Integer month;
+    private Integer day;
+    private Long count;
+}
@@ -0,0 +1,32 @@
+package com.example.usermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeadLetterRecord {
+
+    private int partition;
+    private long offset;
+    private String key;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime timestamp;
+
+    private String originalTopic;
+    private Long originalOffset;
+    private String exceptionClass;
+    private String exceptionMessage;
+    private int attempts;
+    private String targetInstance;
+
+    // The decoded event, or the Base64 payload when it cannot be decoded.
+    private UserEventDTO event;
+    private String rawPayload;
+}
@@ -0,0 +1,14 @@
+package com.example.usermanagement.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeadLetterReplayResponse {
+
+    private int replayed;
+    private String destination;
+}
@@ -0,0 +1,51 @@
+package com.example.usermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobStatus {
+
+    private String jobId;
+    private State state;
+    private ExportFormat format;
+    private long rowsRead;
+    private int chunksCompleted;
+    private long created;
+    private long rejected;
+    private String error;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishedAt;
+
+    // Only the first rejections are kept, so a bad file cannot exhaust memory.
+    private List<Rejection> rejections;
+    private boolean rejectionsTruncated;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Rejection {
+        private long row;
+        private String email;
+        private List<String> errors;
+    }
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
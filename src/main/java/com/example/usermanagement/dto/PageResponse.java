@@ -14,9 +14,11 @@ public class PageResponse<T> {
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean approximateTotal;
     private boolean last;
     private boolean first;
     private boolean empty;
+    private String nextCursor;
 }
@@ -0,0 +1,14 @@
+package com.example.usermanagement.dto;
+
+public enum PageTotalMode {
+    EXACT,
+    NONE,
+    APPROXIMATE;
+
+    public static PageTotalMode of(boolean withTotal, boolean approximateTotal) {
+        if (approximateTotal) {
+            return APPROXIMATE;
+        }
+        return withTotal ? EXACT : NONE;
+    }
+}
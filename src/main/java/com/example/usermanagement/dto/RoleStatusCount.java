@@ -0,0 +1,16 @@
+package com.example.usermanagement.dto;
+
+import com.example.usermanagement.entity.User;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoleStatusCount {
+
+    private User.UserRole role;
+    private User.UserStatus status;
+    private Long count;
+}
@@ -5,12 +5,15 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class UserEventDTO {
 
     private String eventType;
@@ -21,12 +24,86 @@ public class UserEventDTO {
     private User.UserRole role;
     private User.UserStatus status;
 
+    // Role and status before an update, so consumers can move counts between cells.
+    private User.UserRole previousRole;
+    private User.UserStatus previousStatus;
+
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     @Builder.Default
     private LocalDateTime eventTimestamp = LocalDateTime.now();
 
     private String performedBy;
 
+    private String sourceInstanceId;
+
+    // Entity version and persisted updatedAt after the change; a cached copy is only patched
+    // by the delta that directly follows it, and takes its updatedAt from here.
+    private Long version;
+    private LocalDateTime updatedAt;
+
+    // USER_UPDATED only: UserField bit mask plus old/new values for just those fields.
+    // Role and status are always set so counters can move between cells.
+    private Long changedFields;
+    private List<UserFieldChange> changes;
+
+    public static UserEventDTO fromEntity(User user, EventType eventType) {
+        return fromEntity(user, eventType, null, null);
+    }
+
+    public static UserEventDTO fromEntity(
+            User user,
+            EventType eventType,
+            User.UserRole previousRole,
+            User.UserStatus previousStatus
+    ) {
+        return UserEventDTO.builder()
+                .eventType(eventType.name())
+                .userId(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .role(user.getRole())
+                .status(user.getStatus())
+                .previousRole(previousRole)
+                .previousStatus(previousStatus)
+                .version(user.getVersion())
+                .updatedAt(persisted(user.getUpdatedAt()))
+                .performedBy("system")
+                .build();
+    }
+
+    public static UserEventDTO updated(User user, List<UserFieldChange> changes) {
+        User.UserRole previousRole = user.getRole();
+        User.UserStatus previousStatus = user.getStatus();
+        List<UserField> fields = new ArrayList<>(changes.size());
+        for (UserFieldChange change : changes) {
+            fields.add(change.getField());
+            if (change.getField() == UserField.ROLE) {
+                previousRole = (User.UserRole) UserField.ROLE.parseValue(change.getOldValue());
+            } else if (change.getField() == UserField.STATUS) {
+                previousStatus = (User.UserStatus) UserField.STATUS.parseValue(change.getOldValue());
+            }
+        }
+        return UserEventDTO.builder()
+                .eventType(EventType.USER_UPDATED.name())
+                .userId(user.getId())
+                .role(user.getRole())
+                .status(user.getStatus())
+                .previousRole(previousRole)
+                .previousStatus(previousStatus)
+                .changedFields(UserField.toMask(fields))
+                .changes(changes)
+                .version(user.getVersion())
+                .updatedAt(persisted(user.getUpdatedAt()))
+                .performedBy("system")
+                .build();
+    }
+
+    // The column keeps microseconds, so this matches what a read of the row returns.
+    private static LocalDateTime persisted(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.truncatedTo(ChronoUnit.MICROS) : null;
+    }
+
     public enum EventType {
         USER_CREATED,
         USER_UPDATED,
@@ -0,0 +1,154 @@
+package com.example.usermanagement.dto;
+
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.exception.InvalidFieldSelectionException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public enum UserField {
+    ID("id", Long.class, User::getId,
+            (response, value) -> response.setId((Long) value)),
+    FIRST_NAME("firstName", String.class, User::getFirstName,
+            (response, value) -> response.setFirstName((String) value)),
+    LAST_NAME("lastName", String.class, User::getLastName,
+            (response, value) -> response.setLastName((String) value)),
+    EMAIL("email", String.class, User::getEmail,
+            (response, value) -> response.setEmail((String) value)),
+    PHONE("phone", String.class, User::getPhone,
+            (response, value) -> response.setPhone((String) value)),
+    ADDRESS("address", String.class, User::getAddress,
+            (response, value) -> response.setAddress((String) value)),
+    CITY("city", String.class, User::getCity,
+            (response, value) -> response.setCity((String) value)),
+    COUNTRY("country", String.class, User::getCountry,
+            (response, value) -> response.setCountry((String) value)),
+    POSTAL_CODE("postalCode", String.class, User::getPostalCode,
+            (response, value) -> response.setPostalCode((String) value)),
+    ROLE("role", User.UserRole.class, User::getRole,
+            (response, value) -> response.setRole((User.UserRole) value)),
+    STATUS("status", User.UserStatus.class, User::getStatus,
+            (response, value) -> response.setStatus((User.UserStatus) value)),
+    BIO("bio", String.class, User::getBio,
+            (response, value) -> response.setBio((String) value)),
+    AVATAR_URL("avatarUrl", String.class, User::getAvatarUrl,
+            (response, value) -> response.setAvatarUrl((String) value)),
+    CREATED_AT("createdAt", LocalDateTime.class, User::getCreatedAt,
+            (response, value) -> response.setCreatedAt((LocalDateTime) value)),
+    UPDATED_AT("updatedAt", LocalDateTime.class, User::getUpdatedAt,
+            (response, value) -> response.setUpdatedAt((LocalDateTime) value)),
+    LAST_LOGIN_AT("lastLoginAt", LocalDateTime.class, User::getLastLoginAt,
+            (response, value) -> response.setLastLoginAt((LocalDateTime) value));
+
+    private static final Set<UserField> ALL = Collections.unmodifiableSet(EnumSet.allOf(UserField.class));
+
+    // Fields a client can change through PUT or PATCH; these are diffed for update events.
+    private static final Set<UserField> EDITABLE =
+            Collections.unmodifiableSet(EnumSet.range(FIRST_NAME, AVATAR_URL));
+
+    private static final Map<String, UserField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(UserField::getProperty, Function.identity()));
+
+    private final String property;
+    private final Class<?> type;
+    private final Function<User, Object> entityGetter;
+    private final BiConsumer<UserResponse, Object> responseSetter;
+
+    UserField(String property, Class<?> type, Function<User, Object> entityGetter,
+              BiConsumer<UserResponse, Object> responseSetter) {
+        this.property = property;
+        this.type = type;
+        this.entityGetter = entityGetter;
+        this.responseSetter = responseSetter;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Object get(User user) {
+        return entityGetter.apply(user);
+    }
+
+    public void apply(UserResponse response, Object value) {
+        responseSetter.accept(response, value);
+    }
+
+    // Text form used in update events: enum names, ISO-8601 date-times, plain numbers.
+    public String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object parseValue(String text) {
+        if (text == null || type == String.class) {
+            return text;
+        }
+        if (type == Long.class) {
+            return Long.valueOf(text);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(text);
+        }
+        return Enum.valueOf((Class<? extends Enum>) type, text);
+    }
+
+    public static Set<UserField> all() {
+        return ALL;
+    }
+
+    public static Set<UserField> editable() {
+        return EDITABLE;
+    }
+
+    public static long toMask(Collection<UserField> fields) {
+        long mask = 0;
+        for (UserField field : fields) {
+            mask |= 1L << field.ordinal();
+        }
+        return mask;
+    }
+
+    public static Set<UserField> fromMask(long mask) {
+        Set<UserField> fields = EnumSet.noneOf(UserField.class);
+        for (UserField field : values()) {
+            if ((mask & (1L << field.ordinal())) != 0) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    public static UserField fromProperty(String property) {
+        UserField field = BY_PROPERTY.get(property);
+        if (field == null) {
+            throw new InvalidFieldSelectionException("Unknown field: " + property);
+        }
+        return field;
+    }
+
+    // Parses a comma-separated list of response property names; blank selects every field.
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<UserField> selected = EnumSet.of(ID);
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                selected.add(fromProperty(property.trim()));
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.usermanagement.dto;
+
+import com.example.usermanagement.entity.User;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserFieldChange {
+
+    private UserField field;
+
+    // Values in UserField#format text form; null means the field was empty.
+    private String oldValue;
+    private String newValue;
+
+    public static Map<UserField, Object> snapshot(User user) {
+        Map<UserField, Object> values = new EnumMap<>(UserField.class);
+        for (UserField field : UserField.editable()) {
+            values.put(field, field.get(user));
+        }
+        return values;
+    }
+
+    public static List<UserFieldChange> between(Map<UserField, Object> before, User after) {
+        List<UserFieldChange> changes = new ArrayList<>();
+        before.forEach((field, oldValue) -> {
+            Object newValue = field.get(after);
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.add(new UserFieldChange(field, field.format(oldValue), field.format(newValue)));
+            }
+        });
+        return changes;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.usermanagement.dto;
+
+import com.example.usermanagement.entity.User;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+// Partial update: a null (or absent) field is left unchanged.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserPatchRequest {
+
+    // @Size and @Email accept "" and whitespace-only values; a present field must have content.
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Size(min = 2, max = 100, message = "First name must be between 2 and 100 characters")
+    @Pattern(regexp = NOT_BLANK, message = "First name must not be blank")
+    private String firstName;
+
+    @Size(min = 2, max = 100, message = "Last name must be between 2 and 100 characters")
+    @Pattern(regexp = NOT_BLANK, message = "Last name must not be blank")
+    private String lastName;
+
+    @Email(message = "Email must be valid")
+    @Pattern(regexp = NOT_BLANK, message = "Email must not be blank")
+    @Size(max = 150, message = "Email must not exceed 150 characters")
+    private String email;
+
+    @Pattern(regexp = "^[+]?[0-9]{10,20}$", message = "Phone number must be valid")
+    private String phone;
+
+    @Size(max = 200, message = "Address must not exceed 200 characters")
+    private String address;
+
+    @Size(max = 100, message = "City must not exceed 100 characters")
+    private String city;
+
+    @Size(max = 100, message = "Country must not exceed 100 characters")
+    private String country;
+
+    @Size(max = 20, message = "Postal code must not exceed 20 characters")
+    private String postalCode;
+
+    private User.UserRole role;
+
+    private User.UserStatus status;
+
+    @Size(max = 500, message = "Bio must not exceed 500 characters")
+    private String bio;
+
+    @Size(max = 200, message = "Avatar URL must not exceed 200 characters")
+    private String avatarUrl;
+}
@@ -49,4 +49,21 @@ public class UserRequest {
 
     @Size(max = 200, message = "Avatar URL must not exceed 200 characters")
     private String avatarUrl;
+
+    public User toEntity() {
+        return User.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .phone(phone)
+                .address(address)
+                .city(city)
+                .country(country)
+                .postalCode(postalCode)
+                .role(role)
+                .status(status != null ? status : User.UserStatus.ACTIVE)
+                .bio(bio)
+                .avatarUrl(avatarUrl)
+                .build();
+    }
 }
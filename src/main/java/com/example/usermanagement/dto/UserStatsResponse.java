@@ -0,0 +1,52 @@
+package com.example.usermanagement.dto;
+
+import com.example.usermanagement.entity.User;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserStatsResponse {
+
+    private long totalUsers;
+    private Map<User.UserRole, Map<User.UserStatus, Long>> byRoleAndStatus;
+    private Map<User.UserRole, Long> byRole;
+    private Map<User.UserStatus, Long> byStatus;
+    private Map<String, Long> byCountry;
+    private StatsBucket createdBucket;
+    private List<CreatedBucketCount> createdOverTime;
+
+    // Flat counters from the original /stats response, kept for existing dashboards.
+    private long activeUsers;
+    private long inactiveUsers;
+    private long suspendedUsers;
+    private long pendingUsers;
+    private long admins;
+    private long managers;
+    private long regularUsers;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime generatedAt;
+
+    private long stalenessSeconds;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CreatedBucketCount {
+        private LocalDate start;
+        private long count;
+    }
+}
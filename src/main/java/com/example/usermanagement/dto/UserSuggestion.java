@@ -0,0 +1,25 @@
+package com.example.usermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSuggestion {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+
+    // Not part of the API; lets the autocomplete index order updates for the same user.
+    @JsonIgnore
+    private Long version;
+
+    public UserSuggestion(Long id, String firstName, String lastName, String email) {
+        this(id, firstName, lastName, email, null);
+    }
+}
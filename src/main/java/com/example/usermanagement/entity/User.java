@@ -3,11 +3,13 @@ package com.example.usermanagement.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 @Table(name = "users", indexes = {
         @Index(name = "idx_email", columnList = "email"),
         @Index(name = "idx_role", columnList = "role"),
@@ -21,7 +23,8 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -77,6 +80,14 @@ public class User {
     @Version
     private Long version;
 
+    // Maintained by the database; V3__add_user_search_trigram_index.sql owns the PostgreSQL
+    // definition (STORED, trigram-indexed). The columnDefinition is only used for H2 schemas.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "search_text", length = 400, insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(400) GENERATED ALWAYS AS (LOWER(first_name || CHAR(10) || last_name || CHAR(10) || email))")
+    private String searchText;
+
     public enum UserRole {
         ADMIN,
         MANAGER,
@@ -0,0 +1,41 @@
+package com.example.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_events_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_events_outbox_id_seq")
+    @SequenceGenerator(name = "user_events_outbox_id_seq", sequenceName = "user_events_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    // Write order for the relay; ids are pooled per instance and do not follow it.
+    // Filled by the database (V7 on PostgreSQL, the identity below on H2).
+    @Column(insertable = false, updatable = false, columnDefinition = "BIGINT GENERATED ALWAYS AS IDENTITY")
+    private Long relaySeq;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 40)
+    private String eventType;
+
+    // Encoded in the topic's wire format (JSON or UserEventBinaryCodec).
+    @Column(nullable = false, columnDefinition = "BYTEA")
+    private byte[] payload;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
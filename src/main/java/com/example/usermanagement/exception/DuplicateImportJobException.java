@@ -0,0 +1,7 @@
+package com.example.usermanagement.exception;
+
+public class DuplicateImportJobException extends RuntimeException {
+    public DuplicateImportJobException(String jobId) {
+        super("Import job already exists: " + jobId);
+    }
+}
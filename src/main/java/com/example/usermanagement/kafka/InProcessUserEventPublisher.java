@@ -0,0 +1,142 @@
+package com.example.usermanagement.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Delivers user events to {@link UserEventConsumer} inside this JVM through a
+ * lock-free ring buffer, skipping the broker round trip. A single dispatcher
+ * thread drains the ring in batches of up to {@code app.events.ring.batch-size}.
+ * Events are lost if the process dies after the outbox row was deleted, which is
+ * fine for the in-memory projections this feeds on a single node.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "in-process")
+@Slf4j
+public class InProcessUserEventPublisher implements UserEventPublisher, SmartLifecycle {
+
+    private final UserEventRingBuffer<byte[]> ringBuffer;
+    private final Consumer<byte[]> handler;
+    private final RingBufferWaitStrategy waitStrategy;
+    private final int batchSize;
+    private final Duration offerTimeout;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public InProcessUserEventPublisher(
+            UserEventConsumer userEventConsumer,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.events.ring.capacity:65536}") int capacity,
+            @Value("${app.events.ring.batch-size:256}") int batchSize,
+            @Value("${app.events.ring.wait-strategy:PARKING}") RingBufferWaitStrategy waitStrategy,
+            @Value("${app.events.ring.offer-timeout:5s}") Duration offerTimeout
+    ) {
+        this(decodingHandler(userEventConsumer, new UserEventDeserializer(objectMapper)),
+                capacity, batchSize, waitStrategy, offerTimeout);
+        Gauge.builder("user.events.ring.depth", ringBuffer, UserEventRingBuffer::size)
+                .description("Events waiting in the in-process ring buffer")
+                .register(meterRegistry);
+    }
+
+    InProcessUserEventPublisher(
+            Consumer<byte[]> handler,
+            int capacity,
+            int batchSize,
+            RingBufferWaitStrategy waitStrategy,
+            Duration offerTimeout
+    ) {
+        this.ringBuffer = new UserEventRingBuffer<>(capacity);
+        this.handler = handler;
+        this.batchSize = batchSize;
+        this.waitStrategy = waitStrategy;
+        this.offerTimeout = offerTimeout;
+    }
+
+    // A full ring pushes back on the relay thread; the outbox keeps the event if it times out.
+    @Override
+    public CompletableFuture<Void> publish(Long userId, byte[] payload) {
+        long deadline = System.nanoTime() + offerTimeout.toNanos();
+        int attempt = 0;
+        while (!ringBuffer.offer(payload)) {
+            if (!running || System.nanoTime() > deadline) {
+                return CompletableFuture.failedFuture(
+                        new TimeoutException("In-process event ring is full or stopped"));
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // The ring carries the same bytes as the topic, so both wire formats work in-process too.
+    private static Consumer<byte[]> decodingHandler(UserEventConsumer consumer, UserEventDeserializer deserializer) {
+        return payload -> consumer.consumeUserEvent(deserializer.deserialize(null, payload));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        // A platform thread even in virtual-thread mode: spinning would monopolize a carrier.
+        dispatcher = new Thread(this::dispatch, "user-events-ring");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("In-process user event transport started: capacity={}, batchSize={}, waitStrategy={}",
+                ringBuffer.capacity(), batchSize, waitStrategy);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (dispatcher != null) {
+            try {
+                dispatcher.join(offerTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            dispatcher = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void dispatch() {
+        List<byte[]> batch = new ArrayList<>(batchSize);
+        int attempt = 0;
+        // Keep draining after stop() until the ring is empty.
+        while (running || ringBuffer.size() > 0) {
+            if (ringBuffer.drainTo(batch, batchSize) == 0) {
+                waitStrategy.idle(attempt++);
+                continue;
+            }
+            attempt = 0;
+            for (byte[] payload : batch) {
+                try {
+                    handler.accept(payload);
+                } catch (RuntimeException e) {
+                    log.error("Error dispatching in-process user event", e);
+                }
+            }
+            batch.clear();
+        }
+    }
+}
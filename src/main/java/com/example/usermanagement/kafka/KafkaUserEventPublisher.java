@@ -0,0 +1,51 @@
+package com.example.usermanagement.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "kafka", matchIfMissing = true)
+public class KafkaUserEventPublisher implements UserEventPublisher {
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${kafka.topic.user-events}")
+    private String userEventsTopic;
+
+    public KafkaUserEventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Timed from send() until the broker acked, including any time send() blocked on metadata.
+    @Override
+    public CompletableFuture<Void> publish(Long userId, byte[] payload) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return kafkaTemplate.send(userEventsTopic, userId.toString(), payload)
+                    .whenComplete((result, error) -> sample.stop(publishTimer(error)))
+                    .thenRun(() -> { });
+        } catch (RuntimeException e) {
+            sample.stop(publishTimer(e));
+            throw e;
+        }
+    }
+
+    private Timer publishTimer(Throwable error) {
+        return Timer.builder("user.events.publish")
+                .description("Time from sending a user event to Kafka until the broker acknowledged it")
+                .tag("outcome", error == null ? "success" : "failure")
+                .tag("exception", error == null
+                        ? "none"
+                        : NestedExceptionUtils.getMostSpecificCause(error).getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+}
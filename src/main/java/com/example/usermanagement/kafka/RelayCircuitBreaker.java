@@ -0,0 +1,58 @@
+package com.example.usermanagement.kafka;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Minimal circuit breaker for the outbox relay. After {@code failureThreshold}
+ * consecutive failed batches it opens and rejects attempts for {@code openDuration};
+ * then one probe batch is let through (half-open) and its outcome closes or re-opens it.
+ * Only the relay thread uses it, but state is volatile so metrics can read it.
+ */
+class RelayCircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private volatile State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+
+    RelayCircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAtMillis < openDuration.toMillis()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        return true;
+    }
+
+    void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtMillis = clock.millis();
+        }
+    }
+
+    State getState() {
+        return state;
+    }
+}
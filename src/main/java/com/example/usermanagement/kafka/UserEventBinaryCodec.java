@@ -0,0 +1,340 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.entity.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary encoding of {@link UserEventDTO}.
+ * <p>
+ * Layout: magic byte {@code 0x00}, version byte, varint presence mask, then each
+ * present field in mask order. Ids, timestamps and the changed-field mask are varints
+ * (timestamps as epoch millis of the local date-time read as UTC), enums are one
+ * ordinal byte and strings are varint-length-prefixed UTF-8. Version 2 appended the
+ * update delta: a count, then per change the {@link UserField} ordinal and the old and
+ * new values as nullable strings (length + 1, zero meaning null). Version 3 appended
+ * the entity version as a varint and the entity's updatedAt as epoch microseconds.
+ * Version 1 and 2 payloads remain readable. The
+ * leading zero byte can never start a JSON document, which is how readers tell the
+ * two formats apart.
+ */
+public final class UserEventBinaryCodec {
+
+    static final byte MAGIC = 0x00;
+    static final byte VERSION = 3;
+
+    private static final int EVENT_TYPE = 1;
+    private static final int USER_ID = 1 << 1;
+    private static final int EMAIL = 1 << 2;
+    private static final int FIRST_NAME = 1 << 3;
+    private static final int LAST_NAME = 1 << 4;
+    private static final int ROLE = 1 << 5;
+    private static final int STATUS = 1 << 6;
+    private static final int PREVIOUS_ROLE = 1 << 7;
+    private static final int PREVIOUS_STATUS = 1 << 8;
+    private static final int EVENT_TIMESTAMP = 1 << 9;
+    private static final int PERFORMED_BY = 1 << 10;
+    private static final int SOURCE_INSTANCE_ID = 1 << 11;
+    private static final int CHANGED_FIELDS = 1 << 12;
+    private static final int CHANGES = 1 << 13;
+    private static final int ENTITY_VERSION = 1 << 14;
+    private static final int ENTITY_UPDATED_AT = 1 << 15;
+
+    // Event types outside the enum are written as this marker followed by the name.
+    private static final int CUSTOM_EVENT_TYPE = 0xFF;
+
+    private static final UserEventDTO.EventType[] EVENT_TYPES = UserEventDTO.EventType.values();
+    private static final User.UserRole[] ROLES = User.UserRole.values();
+    private static final User.UserStatus[] STATUSES = User.UserStatus.values();
+    private static final UserField[] FIELDS = UserField.values();
+
+    private UserEventBinaryCodec() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(UserEventDTO event) {
+        int mask = 0;
+        mask |= event.getEventType() != null ? EVENT_TYPE : 0;
+        mask |= event.getUserId() != null ? USER_ID : 0;
+        mask |= event.getEmail() != null ? EMAIL : 0;
+        mask |= event.getFirstName() != null ? FIRST_NAME : 0;
+        mask |= event.getLastName() != null ? LAST_NAME : 0;
+        mask |= event.getRole() != null ? ROLE : 0;
+        mask |= event.getStatus() != null ? STATUS : 0;
+        mask |= event.getPreviousRole() != null ? PREVIOUS_ROLE : 0;
+        mask |= event.getPreviousStatus() != null ? PREVIOUS_STATUS : 0;
+        mask |= event.getEventTimestamp() != null ? EVENT_TIMESTAMP : 0;
+        mask |= event.getPerformedBy() != null ? PERFORMED_BY : 0;
+        mask |= event.getSourceInstanceId() != null ? SOURCE_INSTANCE_ID : 0;
+        mask |= event.getChangedFields() != null ? CHANGED_FIELDS : 0;
+        mask |= event.getChanges() != null ? CHANGES : 0;
+        mask |= event.getVersion() != null ? ENTITY_VERSION : 0;
+        mask |= event.getUpdatedAt() != null ? ENTITY_UPDATED_AT : 0;
+
+        Writer out = new Writer(96);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeVarLong(mask);
+        if ((mask & EVENT_TYPE) != 0) {
+            writeEventType(out, event.getEventType());
+        }
+        if ((mask & USER_ID) != 0) {
+            out.writeVarLong(event.getUserId());
+        }
+        if ((mask & EMAIL) != 0) {
+            out.writeString(event.getEmail());
+        }
+        if ((mask & FIRST_NAME) != 0) {
+            out.writeString(event.getFirstName());
+        }
+        if ((mask & LAST_NAME) != 0) {
+            out.writeString(event.getLastName());
+        }
+        if ((mask & ROLE) != 0) {
+            out.writeByte(event.getRole().ordinal());
+        }
+        if ((mask & STATUS) != 0) {
+            out.writeByte(event.getStatus().ordinal());
+        }
+        if ((mask & PREVIOUS_ROLE) != 0) {
+            out.writeByte(event.getPreviousRole().ordinal());
+        }
+        if ((mask & PREVIOUS_STATUS) != 0) {
+            out.writeByte(event.getPreviousStatus().ordinal());
+        }
+        if ((mask & EVENT_TIMESTAMP) != 0) {
+            out.writeVarLong(event.getEventTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        if ((mask & PERFORMED_BY) != 0) {
+            out.writeString(event.getPerformedBy());
+        }
+        if ((mask & SOURCE_INSTANCE_ID) != 0) {
+            out.writeString(event.getSourceInstanceId());
+        }
+        if ((mask & CHANGED_FIELDS) != 0) {
+            out.writeVarLong(event.getChangedFields());
+        }
+        if ((mask & CHANGES) != 0) {
+            out.writeVarLong(event.getChanges().size());
+            for (UserFieldChange change : event.getChanges()) {
+                out.writeByte(change.getField().ordinal());
+                out.writeNullableString(change.getOldValue());
+                out.writeNullableString(change.getNewValue());
+            }
+        }
+        if ((mask & ENTITY_VERSION) != 0) {
+            out.writeVarLong(event.getVersion());
+        }
+        if ((mask & ENTITY_UPDATED_AT) != 0) {
+            Instant updatedAt = event.getUpdatedAt().toInstant(ZoneOffset.UTC);
+            out.writeVarLong(ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt));
+        }
+        return out.toByteArray();
+    }
+
+    public static UserEventDTO decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Not a binary user event");
+        }
+        Reader in = new Reader(data);
+        in.readByte();
+        int version = in.readByte();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Unsupported user event encoding version: " + version);
+        }
+        int mask = (int) in.readVarLong();
+
+        // The no-args constructor applies the builder default (now); an absent timestamp must stay null.
+        UserEventDTO event = new UserEventDTO();
+        event.setEventTimestamp(null);
+        if ((mask & EVENT_TYPE) != 0) {
+            event.setEventType(readEventType(in));
+        }
+        if ((mask & USER_ID) != 0) {
+            event.setUserId(in.readVarLong());
+        }
+        if ((mask & EMAIL) != 0) {
+            event.setEmail(in.readString());
+        }
+        if ((mask & FIRST_NAME) != 0) {
+            event.setFirstName(in.readString());
+        }
+        if ((mask & LAST_NAME) != 0) {
+            event.setLastName(in.readString());
+        }
+        if ((mask & ROLE) != 0) {
+            event.setRole(ROLES[in.readByte()]);
+        }
+        if ((mask & STATUS) != 0) {
+            event.setStatus(STATUSES[in.readByte()]);
+        }
+        if ((mask & PREVIOUS_ROLE) != 0) {
+            event.setPreviousRole(ROLES[in.readByte()]);
+        }
+        if ((mask & PREVIOUS_STATUS) != 0) {
+            event.setPreviousStatus(STATUSES[in.readByte()]);
+        }
+        if ((mask & EVENT_TIMESTAMP) != 0) {
+            event.setEventTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readVarLong()), ZoneOffset.UTC));
+        }
+        if ((mask & PERFORMED_BY) != 0) {
+            event.setPerformedBy(in.readString());
+        }
+        if ((mask & SOURCE_INSTANCE_ID) != 0) {
+            event.setSourceInstanceId(in.readString());
+        }
+        if ((mask & CHANGED_FIELDS) != 0) {
+            event.setChangedFields(in.readVarLong());
+        }
+        if ((mask & CHANGES) != 0) {
+            int count = (int) in.readVarLong();
+            List<UserFieldChange> changes = new ArrayList<>(Math.min(count, FIELDS.length));
+            for (int i = 0; i < count; i++) {
+                UserField field = FIELDS[in.readByte()];
+                String oldValue = in.readNullableString();
+                changes.add(new UserFieldChange(field, oldValue, in.readNullableString()));
+            }
+            event.setChanges(changes);
+        }
+        if ((mask & ENTITY_VERSION) != 0) {
+            event.setVersion(in.readVarLong());
+        }
+        if ((mask & ENTITY_UPDATED_AT) != 0) {
+            Instant updatedAt = Instant.EPOCH.plus(in.readVarLong(), ChronoUnit.MICROS);
+            event.setUpdatedAt(LocalDateTime.ofInstant(updatedAt, ZoneOffset.UTC));
+        }
+        return event;
+    }
+
+    private static void writeEventType(Writer out, String eventType) {
+        for (UserEventDTO.EventType type : EVENT_TYPES) {
+            if (type.name().equals(eventType)) {
+                out.writeByte(type.ordinal());
+                return;
+            }
+        }
+        out.writeByte(CUSTOM_EVENT_TYPE);
+        out.writeString(eventType);
+    }
+
+    private static String readEventType(Reader in) {
+        int code = in.readByte();
+        return code == CUSTOM_EVENT_TYPE ? in.readString() : EVENT_TYPES[code].name();
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeNullableString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Truncated user event");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in user event");
+        }
+
+        String readNullableString() {
+            int length = (int) readVarLong();
+            return length == 0 ? null : readBytesAsString(length - 1);
+        }
+
+        String readString() {
+            return readBytesAsString((int) readVarLong());
+        }
+
+        private String readBytesAsString(int length) {
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalArgumentException("Truncated user event");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.entity.UserEventOutbox;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Collapses pending outbox rows for the same user into one event before the relay
+ * sends them. Rows younger than {@code window} are held back, together with every
+ * row after them, so bursts of writes to one user have time to pile up. A user's
+ * rows merge in order:
+ * <ul>
+ *   <li>consecutive updates become one delta, from the first old value to the last new one;</li>
+ *   <li>a create followed by updates becomes one create carrying the final state;</li>
+ *   <li>a delete replaces pending updates and keeps the role and status they started from;</li>
+ *   <li>a create followed by a delete cancels out.</li>
+ * </ul>
+ * Anything else is sent as is. A zero window turns coalescing off.
+ */
+@Slf4j
+class UserEventCoalescer {
+
+    private final UserEventSerializer serializer;
+    private final UserEventDeserializer deserializer;
+    private final String topic;
+    private final Duration window;
+    private final Clock clock;
+
+    UserEventCoalescer(UserEventSerializer serializer, UserEventDeserializer deserializer, String topic,
+                       Duration window, Clock clock) {
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+        this.topic = topic;
+        this.window = window;
+        this.clock = clock;
+    }
+
+    boolean isEnabled() {
+        return !window.isZero() && !window.isNegative();
+    }
+
+    // Rows must be in relay_seq (write) order; the result keeps each user's order.
+    List<CoalescedEvent> coalesce(List<UserEventOutbox> rows) {
+        if (!isEnabled()) {
+            return rows.stream().map(CoalescedEvent::of).toList();
+        }
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(window);
+        Map<Long, List<UserEventOutbox>> byUser = new LinkedHashMap<>();
+        for (UserEventOutbox row : rows) {
+            if (row.getCreatedAt() != null && row.getCreatedAt().isAfter(cutoff)) {
+                break;
+            }
+            byUser.computeIfAbsent(row.getUserId(), userId -> new ArrayList<>()).add(row);
+        }
+        List<CoalescedEvent> events = new ArrayList<>(byUser.size());
+        for (List<UserEventOutbox> userRows : byUser.values()) {
+            if (userRows.size() == 1) {
+                events.add(CoalescedEvent.of(userRows.get(0)));
+            } else {
+                events.addAll(coalesceUser(userRows));
+            }
+        }
+        return events;
+    }
+
+    private List<CoalescedEvent> coalesceUser(List<UserEventOutbox> rows) {
+        List<UserEventDTO> decoded = new ArrayList<>(rows.size());
+        try {
+            for (UserEventOutbox row : rows) {
+                decoded.add(deserializer.deserialize(topic, row.getPayload()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot decode outbox rows for user: {}, sending them uncoalesced", rows.get(0).getUserId(), e);
+            return rows.stream().map(CoalescedEvent::of).toList();
+        }
+
+        List<CoalescedEvent> events = new ArrayList<>();
+        List<UserEventOutbox> pendingRows = new ArrayList<>();
+        UserEventDTO pending = null;
+        for (int i = 0; i < rows.size(); i++) {
+            UserEventDTO next = decoded.get(i);
+            if (!pendingRows.isEmpty()) {
+                if (pending != null && is(pending, UserEventDTO.EventType.USER_CREATED)
+                        && is(next, UserEventDTO.EventType.USER_DELETED)) {
+                    pending = null;
+                    pendingRows.add(rows.get(i));
+                    continue;
+                }
+                UserEventDTO merged = pending != null ? merge(pending, next) : null;
+                if (merged != null) {
+                    pending = merged;
+                    pendingRows.add(rows.get(i));
+                    continue;
+                }
+                events.add(flush(pending, pendingRows));
+                pendingRows = new ArrayList<>();
+            }
+            pending = next;
+            pendingRows.add(rows.get(i));
+        }
+        events.add(flush(pending, pendingRows));
+        return events;
+    }
+
+    // A single row keeps its original bytes; merged rows are encoded once more.
+    private CoalescedEvent flush(UserEventDTO event, List<UserEventOutbox> rows) {
+        if (rows.size() == 1) {
+            return CoalescedEvent.of(rows.get(0));
+        }
+        boolean noOp = event != null && is(event, UserEventDTO.EventType.USER_UPDATED) && event.getChanges().isEmpty();
+        byte[] payload = event == null || noOp ? null : serializer.serialize(topic, event);
+        return new CoalescedEvent(rows.get(0).getUserId(), payload,
+                rows.stream().map(UserEventOutbox::getId).toList(), rows.get(0).getCreatedAt());
+    }
+
+    // Returns null when the two events cannot be expressed as one.
+    private static UserEventDTO merge(UserEventDTO pending, UserEventDTO next) {
+        if (is(next, UserEventDTO.EventType.USER_DELETED)) {
+            if (!is(pending, UserEventDTO.EventType.USER_UPDATED) || pending.getPreviousRole() == null
+                    || pending.getPreviousStatus() == null) {
+                return null;
+            }
+            // Consumers take the user out of the role/status cell it was in before the updates.
+            return next.toBuilder()
+                    .role(pending.getPreviousRole())
+                    .status(pending.getPreviousStatus())
+                    .build();
+        }
+        if (!is(next, UserEventDTO.EventType.USER_UPDATED) || next.getChanges() == null) {
+            return null;
+        }
+        if (is(pending, UserEventDTO.EventType.USER_CREATED)) {
+            return applyChanges(pending, next);
+        }
+        if (is(pending, UserEventDTO.EventType.USER_UPDATED) && pending.getChanges() != null) {
+            return mergeChanges(pending, next);
+        }
+        return null;
+    }
+
+    private static UserEventDTO applyChanges(UserEventDTO created, UserEventDTO update) {
+        UserEventDTO.UserEventDTOBuilder merged = created.toBuilder()
+                .eventTimestamp(update.getEventTimestamp())
+                .performedBy(update.getPerformedBy())
+                .version(update.getVersion())
+                .updatedAt(update.getUpdatedAt());
+        for (UserFieldChange change : update.getChanges()) {
+            String value = change.getNewValue();
+            switch (change.getField()) {
+                case EMAIL -> merged.email(value);
+                case FIRST_NAME -> merged.firstName(value);
+                case LAST_NAME -> merged.lastName(value);
+                case ROLE -> merged.role((User.UserRole) UserField.ROLE.parseValue(value));
+                case STATUS -> merged.status((User.UserStatus) UserField.STATUS.parseValue(value));
+                default -> {
+                    // Create events carry no other fields.
+                }
+            }
+        }
+        return merged.build();
+    }
+
+    private static UserEventDTO mergeChanges(UserEventDTO first, UserEventDTO next) {
+        Map<UserField, UserFieldChange> byField = new EnumMap<>(UserField.class);
+        for (UserFieldChange change : first.getChanges()) {
+            byField.put(change.getField(), change);
+        }
+        for (UserFieldChange change : next.getChanges()) {
+            UserFieldChange earlier = byField.get(change.getField());
+            String oldValue = earlier != null ? earlier.getOldValue() : change.getOldValue();
+            byField.put(change.getField(), new UserFieldChange(change.getField(), oldValue, change.getNewValue()));
+        }
+        byField.values().removeIf(change -> Objects.equals(change.getOldValue(), change.getNewValue()));
+        List<UserFieldChange> changes = new ArrayList<>(byField.values());
+        return first.toBuilder()
+                .role(next.getRole())
+                .status(next.getStatus())
+                .eventTimestamp(next.getEventTimestamp())
+                .performedBy(next.getPerformedBy())
+                .version(next.getVersion())
+                .updatedAt(next.getUpdatedAt())
+                .changedFields(UserField.toMask(byField.keySet()))
+                .changes(changes)
+                .build();
+    }
+
+    private static boolean is(UserEventDTO event, UserEventDTO.EventType type) {
+        return type.name().equals(event.getEventType());
+    }
+
+    /**
+     * One event to publish and the outbox rows it stands for. The payload is null when
+     * the rows cancel out; the rows are then deleted without sending anything.
+     */
+    @Getter
+    static final class CoalescedEvent {
+
+        private final Long userId;
+        private final byte[] payload;
+        private final List<Long> rowIds;
+        private final LocalDateTime createdAt;
+
+        CoalescedEvent(Long userId, byte[] payload, List<Long> rowIds, LocalDateTime createdAt) {
+            this.userId = userId;
+            this.payload = payload;
+            this.rowIds = rowIds;
+            this.createdAt = createdAt;
+        }
+
+        static CoalescedEvent of(UserEventOutbox row) {
+            return new CoalescedEvent(row.getUserId(), row.getPayload(), List.of(row.getId()), row.getCreatedAt());
+        }
+
+        boolean isEmpty() {
+            return payload == null;
+        }
+    }
+}
@@ -1,48 +1,221 @@
 package com.example.usermanagement.kafka;
 
+import com.example.usermanagement.config.CacheConfig;
+import com.example.usermanagement.config.InstanceIdentity;
 import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.service.UserAutocompleteIndex;
+import com.example.usermanagement.service.UserCounters;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class UserEventConsumer {
 
-    private final ObjectMapper objectMapper;
+    // Anything else is tagged "unknown" so a bad producer cannot blow up the series count.
+    private static final Set<String> EVENT_TYPES =
+            Set.of("USER_CREATED", "USER_UPDATED", "USER_DELETED", "USER_STATUS_CHANGED");
+
+    private final CacheManager cacheManager;
+    private final UserAutocompleteIndex userAutocompleteIndex;
+    private final UserCounters userCounters;
+    private final InstanceIdentity instanceIdentity;
+    private final MeterRegistry meterRegistry;
+    private final UserEventDeserializer deserializer;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter undecodableEvents;
+
+    public UserEventConsumer(
+            CacheManager cacheManager,
+            UserAutocompleteIndex userAutocompleteIndex,
+            UserCounters userCounters,
+            InstanceIdentity instanceIdentity,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper
+    ) {
+        this.cacheManager = cacheManager;
+        this.userAutocompleteIndex = userAutocompleteIndex;
+        this.userCounters = userCounters;
+        this.instanceIdentity = instanceIdentity;
+        this.meterRegistry = meterRegistry;
+        this.deserializer = new UserEventDeserializer(objectMapper);
+        this.batchTimer = Timer.builder("user.events.consumer.batch")
+                .description("Time to process one polled batch of user events")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("user.events.consumer.batch.size")
+                .description("User events per polled batch")
+                .register(meterRegistry);
+        this.undecodableEvents = Counter.builder("user.events.consumer.undecodable")
+                .description("User events sent to the dead-letter topic because their payload could not be decoded")
+                .register(meterRegistry);
+    }
 
-    @KafkaListener(topics = "${kafka.topic.user-events}", groupId = "user-management-group")
-    public void consumeUserEvent(String message) {
+    // Values arrive as raw bytes and are decoded here by UserEventDeserializer, which accepts
+    // both JSON and binary payloads; the bytes are what the retry tiers and the DLT receive.
+    // Every instance keeps its own user cache, so each one joins its own consumer
+    // group and sees the full event stream instead of a share of the partitions.
+    // Offsets are committed once the whole batch is processed. A failing record raises
+    // BatchListenerFailedException: the records before it are committed, it moves to the
+    // retry tiers (UserEventRetryTopics) and the rest of the batch is redelivered.
+    @KafkaListener(
+            topics = "${kafka.topic.user-events}",
+            groupId = "${kafka.consumer.group-id:user-management-group}-#{@instanceIdentity.id}",
+            containerFactory = "userEventsListenerContainerFactory",
+            autoStartup = "#{'${app.events.transport:kafka}' == 'kafka'}"
+    )
+    public void consumeUserEvents(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        long start = System.nanoTime();
         try {
-            UserEventDTO event = objectMapper.readValue(message, UserEventDTO.class);
-            log.info("Consumed user event: type={}, userId={}, email={}",
-                    event.getEventType(), event.getUserId(), event.getEmail());
+            for (int i = 0; i < records.size(); i++) {
+                ConsumerRecord<String, byte[]> record = records.get(i);
+                UserEventDTO event;
+                try {
+                    event = decode(record);
+                } catch (SerializationException e) {
+                    // The error handler sends the raw bytes straight to the dead-letter topic.
+                    undecodableEvents.increment();
+                    throw new BatchListenerFailedException("Undecodable user event", e, i);
+                }
+                try {
+                    consumeUserEvent(event);
+                } catch (RuntimeException e) {
+                    throw new BatchListenerFailedException(
+                            "Failed to process user event for user: " + record.key(), e, i);
+                }
+            }
+            acknowledgment.acknowledge();
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(records.size());
+        }
+    }
 
+    UserEventDTO decode(ConsumerRecord<String, byte[]> record) {
+        UserEventDTO event = deserializer.deserialize(record.topic(), record.value());
+        if (event == null) {
+            throw new SerializationException("Empty user event payload on topic: " + record.topic());
+        }
+        return event;
+    }
+
+    public void consumeUserEvent(UserEventDTO event) {
+        log.debug("Consumed user event: type={}, userId={}", event.getEventType(), event.getUserId());
+        String eventType = EVENT_TYPES.contains(event.getEventType()) ? event.getEventType() : "unknown";
+        recordLag(event, eventType);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
             processEvent(event);
-        } catch (Exception e) {
-            log.error("Error processing user event", e);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("user.events.consumer.process")
+                    .description("Time to apply one user event")
+                    .tag("type", eventType)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
 
+    // Event age on arrival, i.e. how far this instance trails the writes; the Kafka client's
+    // records-lag reports the same backlog in offsets.
+    private void recordLag(UserEventDTO event, String eventType) {
+        if (event.getEventTimestamp() == null) {
+            return;
+        }
+        Duration lag = Duration.between(event.getEventTimestamp(), LocalDateTime.now());
+        Timer.builder("user.events.consumer.lag")
+                .description("Time from the user change until its event reached the consumer")
+                .tag("type", eventType)
+                .register(meterRegistry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
     private void processEvent(UserEventDTO event) {
+        userAutocompleteIndex.onUserEvent(event);
         switch (event.getEventType()) {
             case "USER_CREATED":
                 log.info("Processing USER_CREATED event for user: {}", event.getUserId());
                 break;
             case "USER_UPDATED":
                 log.info("Processing USER_UPDATED event for user: {}", event.getUserId());
+                if (event.getChanges() != null) {
+                    applyToCachedUser(event);
+                } else {
+                    evictCachedUser(event.getUserId());
+                }
                 break;
             case "USER_DELETED":
                 log.info("Processing USER_DELETED event for user: {}", event.getUserId());
+                evictCachedUser(event.getUserId());
                 break;
             case "USER_STATUS_CHANGED":
                 log.info("Processing USER_STATUS_CHANGED event for user: {}", event.getUserId());
+                evictCachedUser(event.getUserId());
                 break;
             default:
                 log.warn("Unknown event type: {}", event.getEventType());
         }
+        // Counters are not idempotent, so they move last: a step that fails above sends the
+        // event to a retry before it was counted. Local writes already moved the counters
+        // when their transaction committed.
+        if (!instanceIdentity.getId().equals(event.getSourceInstanceId())) {
+            userCounters.onUserEvent(event);
+        }
+    }
+
+    // Patches a copy of the cached response so readers never see a half-applied delta.
+    // Only the delta that directly follows the cached version is applied; a late, redelivered
+    // or out-of-order one, or one without the persisted updatedAt, evicts instead, so the next
+    // read loads the committed row.
+    private void applyToCachedUser(UserEventDTO event) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache == null || event.getUserId() == null) {
+            return;
+        }
+        UserResponse cached = cache.get(event.getUserId(), UserResponse.class);
+        if (cached == null) {
+            return;
+        }
+        if (event.getVersion() == null || event.getUpdatedAt() == null || cached.getVersion() == null
+                || cached.getVersion() != event.getVersion() - 1) {
+            cache.evict(event.getUserId());
+            return;
+        }
+        UserResponse patched = cached.toBuilder()
+                .updatedAt(event.getUpdatedAt())
+                .version(event.getVersion())
+                .build();
+        for (UserFieldChange change : event.getChanges()) {
+            change.getField().apply(patched, change.getField().parseValue(change.getNewValue()));
+        }
+        cache.put(event.getUserId(), patched);
+    }
+
+    private void evictCachedUser(Long userId) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache != null && userId != null) {
+            cache.evict(userId);
+        }
     }
 }
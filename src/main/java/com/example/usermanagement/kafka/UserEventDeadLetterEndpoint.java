@@ -0,0 +1,200 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.InstanceIdentity;
+import com.example.usermanagement.dto.DeadLetterRecord;
+import com.example.usermanagement.dto.DeadLetterReplayResponse;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint ({@code /actuator/usereventsdlt}) for the user events dead-letter
+ * topic. GET lists records that have not been replayed yet; POST replays them in bulk
+ * into the first retry tier with a fresh attempt count, targeted at this instance
+ * because the one they failed on may be gone. Progress is tracked by the
+ * {@value #REPLAY_GROUP} consumer group, so replayed records are not listed again.
+ * Not exposed over HTTP by default; see the README for enabling it on a management port.
+ */
+@Component
+@Endpoint(id = "usereventsdlt")
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "kafka", matchIfMissing = true)
+@Slf4j
+public class UserEventDeadLetterEndpoint {
+
+    static final String REPLAY_GROUP = "user-events-dlt-replay";
+    private static final int DEFAULT_LIMIT = 100;
+    private static final Set<String> RETRY_HEADERS = Set.of(UserEventRetryTopics.ATTEMPTS_HEADER,
+            UserEventRetryTopics.TARGET_HEADER, UserEventRetryTopics.DUE_AT_HEADER);
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final UserEventRetryTopics userEventRetryTopics;
+    private final UserEventDeserializer deserializer;
+    private final InstanceIdentity instanceIdentity;
+    private final Duration readTimeout;
+
+    public UserEventDeadLetterEndpoint(
+            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            UserEventRetryTopics userEventRetryTopics,
+            ObjectMapper objectMapper,
+            InstanceIdentity instanceIdentity,
+            @Value("${kafka.dlt.read-timeout:5s}") Duration readTimeout
+    ) {
+        this.consumerFactory = new DefaultKafkaConsumerFactory<>(Map.<String, Object>of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, REPLAY_GROUP,
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"),
+                new StringDeserializer(), new ByteArrayDeserializer());
+        this.kafkaTemplate = kafkaTemplate;
+        this.userEventRetryTopics = userEventRetryTopics;
+        this.deserializer = new UserEventDeserializer(objectMapper);
+        this.instanceIdentity = instanceIdentity;
+        this.readTimeout = readTimeout;
+    }
+
+    @ReadOperation
+    public synchronized List<DeadLetterRecord> deadLetters(@Nullable Integer limit) {
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer()) {
+            return pending(consumer, limitOrDefault(limit)).stream().map(this::toDeadLetterRecord).toList();
+        }
+    }
+
+    @WriteOperation
+    public synchronized DeadLetterReplayResponse replay(@Nullable Integer limit) {
+        String destination = userEventRetryTopics.retryTopic(0);
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer()) {
+            List<ConsumerRecord<String, byte[]>> records = pending(consumer, limitOrDefault(limit));
+            List<CompletableFuture<?>> sends = new ArrayList<>(records.size());
+            Map<TopicPartition, OffsetAndMetadata> replayedUpTo = new HashMap<>();
+            for (ConsumerRecord<String, byte[]> record : records) {
+                sends.add(kafkaTemplate.send(new ProducerRecord<>(
+                        destination, null, record.key(), record.value(), replayHeaders(record.headers()))));
+                replayedUpTo.put(new TopicPartition(record.topic(), record.partition()),
+                        new OffsetAndMetadata(record.offset() + 1));
+            }
+            // Only move the group once every record is safely in the retry tier.
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            consumer.commitSync(replayedUpTo);
+            log.info("Replayed {} dead-lettered user events to {}", records.size(), destination);
+            return new DeadLetterReplayResponse(records.size(), destination);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying dead-lettered user events", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to replay dead-lettered user events", e);
+        }
+    }
+
+    // Reads from the replay group's committed position up to the end offsets seen at the start.
+    private List<ConsumerRecord<String, byte[]>> pending(Consumer<String, byte[]> consumer, int limit) {
+        String topic = userEventRetryTopics.deadLetterTopic();
+        List<TopicPartition> partitions = consumer.partitionsFor(topic, readTimeout).stream()
+                .map(info -> new TopicPartition(topic, info.partition()))
+                .toList();
+        consumer.assign(partitions);
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, readTimeout);
+
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        long deadline = System.nanoTime() + readTimeout.toNanos();
+        while (records.size() < limit && !caughtUp(consumer, endOffsets) && System.nanoTime() < deadline) {
+            for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(200))) {
+                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                if (records.size() < limit && record.offset() < endOffsets.get(partition)) {
+                    records.add(record);
+                }
+            }
+        }
+        return records;
+    }
+
+    private boolean caughtUp(Consumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (consumer.position(end.getKey(), readTimeout) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Headers replayHeaders(Headers original) {
+        Headers headers = new RecordHeaders();
+        for (Header header : original) {
+            if (!RETRY_HEADERS.contains(header.key())) {
+                headers.add(header);
+            }
+        }
+        return headers
+                .add(UserEventRetryTopics.ATTEMPTS_HEADER, UserEventRetryTopics.utf8("1"))
+                .add(UserEventRetryTopics.TARGET_HEADER, UserEventRetryTopics.utf8(instanceIdentity.getId()))
+                .add(UserEventRetryTopics.DUE_AT_HEADER, UserEventRetryTopics.utf8("0"));
+    }
+
+    private DeadLetterRecord toDeadLetterRecord(ConsumerRecord<String, byte[]> record) {
+        Headers headers = record.headers();
+        Header originalOffset = headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET);
+        UserEventDTO event = null;
+        String rawPayload = null;
+        try {
+            event = deserializer.deserialize(record.topic(), record.value());
+        } catch (RuntimeException e) {
+            rawPayload = record.value() != null ? Base64.getEncoder().encodeToString(record.value()) : null;
+        }
+        return DeadLetterRecord.builder()
+                .partition(record.partition())
+                .offset(record.offset())
+                .key(record.key())
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault()))
+                .originalTopic(UserEventRetryTopics.lastHeader(headers, KafkaHeaders.DLT_ORIGINAL_TOPIC))
+                .originalOffset(originalOffset != null ? ByteBuffer.wrap(originalOffset.value()).getLong() : null)
+                .exceptionClass(UserEventRetryTopics.lastHeader(headers, KafkaHeaders.DLT_EXCEPTION_FQCN))
+                .exceptionMessage(UserEventRetryTopics.lastHeader(headers, KafkaHeaders.DLT_EXCEPTION_MESSAGE))
+                .attempts(UserEventRetryTopics.attempts(record))
+                .targetInstance(UserEventRetryTopics.target(record))
+                .event(event)
+                .rawPayload(rawPayload)
+                .build();
+    }
+
+    private static int limitOrDefault(Integer limit) {
+        return limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+    }
+}
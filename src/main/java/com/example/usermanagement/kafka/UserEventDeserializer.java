@@ -0,0 +1,42 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads user events in either wire format. Binary payloads start with the codec's
+ * zero magic byte; anything else is treated as legacy JSON, so consumers can be
+ * upgraded before producers switch a topic to {@link UserEventWireFormat#BINARY}.
+ */
+public class UserEventDeserializer implements Deserializer<UserEventDTO> {
+
+    private final ObjectMapper objectMapper;
+
+    public UserEventDeserializer() {
+        this(new JacksonConfig().objectMapper());
+    }
+
+    public UserEventDeserializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public UserEventDTO deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            if (UserEventBinaryCodec.isBinary(data)) {
+                return UserEventBinaryCodec.decode(data);
+            }
+            return objectMapper.readValue(data, UserEventDTO.class);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Unable to deserialize user event from topic: " + topic, e);
+        }
+    }
+}
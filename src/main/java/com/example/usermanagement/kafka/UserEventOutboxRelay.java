@@ -0,0 +1,276 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.InstanceIdentity;
+import com.example.usermanagement.entity.UserEventOutbox;
+import com.example.usermanagement.repository.UserEventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the user event outbox to the configured {@link UserEventPublisher} in write order
+ * ({@code relay_seq}). Only the instance holding the relay lease relays; it keeps the lease
+ * across polls, renews it well before it lapses and gives it up on shutdown. Each batch is
+ * claimed in a short transaction, sent with no transaction or connection held, and the
+ * acknowledged rows are then deleted with one statement in a second transaction. Sends go
+ * out in rounds holding at most one event per user, pipelined across users, so a user's
+ * next event is only sent once the previous one is acknowledged. When a send fails, the
+ * user's later rows are not sent and stay in the outbox behind the failed one for the next
+ * poll, so per-user order is kept and only the failed event can be delivered twice.
+ * Runs on a scheduler thread, never a request thread; a circuit breaker pauses
+ * polling while the broker keeps failing. With {@code app.outbox.coalescing.window}
+ * set, {@link UserEventCoalescer} merges each user's pending rows into one event first.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class UserEventOutboxRelay {
+
+    private final UserEventOutboxRepository userEventOutboxRepository;
+    private final UserEventPublisher userEventPublisher;
+    private final String instanceId;
+    private final TransactionTemplate transactionTemplate;
+    private final RelayCircuitBreaker circuitBreaker;
+    private final UserEventCoalescer coalescer;
+    private final Timer sendTimer;
+    private final Timer deliveryDelayTimer;
+    private final Counter failedBatches;
+    private final Counter coalescedRows;
+    private final Counter coalescedEvents;
+    private final Timer coalescingHoldTimer;
+    private final AtomicLong outboxDepth = new AtomicLong();
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.send-timeout:30s}")
+    private Duration sendTimeout;
+
+    private volatile boolean leaseHeld;
+    private long nextLeaseCheck = System.nanoTime();
+
+    public UserEventOutboxRelay(
+            UserEventOutboxRepository userEventOutboxRepository,
+            UserEventPublisher userEventPublisher,
+            UserEventSerializer userEventSerializer,
+            InstanceIdentity instanceIdentity,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${kafka.topic.user-events}") String userEventsTopic,
+            @Value("${app.outbox.circuit-breaker.failure-threshold:3}") int failureThreshold,
+            @Value("${app.outbox.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${app.outbox.coalescing.window:0ms}") Duration coalescingWindow
+    ) {
+        this.userEventOutboxRepository = userEventOutboxRepository;
+        this.userEventPublisher = userEventPublisher;
+        this.instanceId = instanceIdentity.getId();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.circuitBreaker = new RelayCircuitBreaker(failureThreshold, openDuration, Clock.systemUTC());
+        this.coalescer = new UserEventCoalescer(userEventSerializer, new UserEventDeserializer(), userEventsTopic,
+                coalescingWindow, Clock.systemDefaultZone());
+        this.sendTimer = Timer.builder("user.events.relay.send")
+                .description("Time from handing an outbox batch to the transport until every send is acknowledged")
+                .register(meterRegistry);
+        this.deliveryDelayTimer = Timer.builder("user.events.relay.delay")
+                .description("Time from writing an event to the outbox until the transport acknowledged it")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("user.events.relay.failures")
+                .description("Outbox batches with at least one failed send")
+                .register(meterRegistry);
+        this.coalescedRows = Counter.builder("user.events.coalescing.rows")
+                .description("Outbox rows handed to the coalescer")
+                .register(meterRegistry);
+        this.coalescedEvents = Counter.builder("user.events.coalescing.events")
+                .description("Events left to publish after coalescing")
+                .register(meterRegistry);
+        this.coalescingHoldTimer = Timer.builder("user.events.coalescing.hold")
+                .description("Time from writing the oldest merged row until the coalescer released its event")
+                .register(meterRegistry);
+        Gauge.builder("user.events.coalescing.ratio", this, UserEventOutboxRelay::coalescingRatio)
+                .description("Share of outbox rows that did not need an event of their own")
+                .register(meterRegistry);
+        // Taken from the last claimed batch rather than a COUNT(*) per scrape; a lower bound
+        // when that batch was full. Instances without the lease report 0.
+        Gauge.builder("user.events.outbox.depth", outboxDepth, AtomicLong::get)
+                .description("Events left in the outbox after the last relay pass")
+                .register(meterRegistry);
+        Gauge.builder("user.events.relay.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Relay circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:250ms}")
+    public void relay() {
+        int relayed;
+        do {
+            if (!circuitBreaker.tryAcquire()) {
+                return;
+            }
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    // Lets another instance take over right away instead of waiting for the lease to lapse.
+    @PreDestroy
+    public void releaseLease() {
+        if (leaseHeld) {
+            transactionTemplate.executeWithoutResult(status -> userEventOutboxRepository.releaseRelayLease(instanceId));
+            leaseHeld = false;
+        }
+    }
+
+    // Returns the number of rows relayed, or 0 when the batch stopped early so the
+    // caller waits for the next poll instead of hammering an unhealthy broker.
+    int relayBatch() {
+        List<UserEventOutbox> rows = transactionTemplate.execute(status -> claimBatch());
+        if (rows == null || rows.isEmpty()) {
+            outboxDepth.set(0);
+            return 0;
+        }
+        List<UserEventCoalescer.CoalescedEvent> batch = coalescer.coalesce(rows);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        if (coalescer.isEnabled()) {
+            recordCoalescing(batch);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + sendTimeout.toNanos();
+        List<Long> acknowledged = new ArrayList<>(rows.size());
+        Set<Long> blockedUsers = new HashSet<>();
+        boolean interrupted = false;
+        for (List<UserEventCoalescer.CoalescedEvent> round : rounds(batch)) {
+            List<UserEventCoalescer.CoalescedEvent> sending = new ArrayList<>(round.size());
+            List<CompletableFuture<?>> sends = new ArrayList<>(round.size());
+            for (UserEventCoalescer.CoalescedEvent event : round) {
+                if (!blockedUsers.contains(event.getUserId())) {
+                    sending.add(event);
+                    sends.add(event.isEmpty() ? CompletableFuture.completedFuture(null) : send(event));
+                }
+            }
+            for (int i = 0; i < sending.size(); i++) {
+                UserEventCoalescer.CoalescedEvent event = sending.get(i);
+                try {
+                    sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    acknowledged.addAll(event.getRowIds());
+                    if (event.getCreatedAt() != null && !event.isEmpty()) {
+                        deliveryDelayTimer.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+                    }
+                } catch (ExecutionException | TimeoutException e) {
+                    blockedUsers.add(event.getUserId());
+                    log.warn("Failed to relay user event for user: {}, will retry", event.getUserId(), e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                    break;
+                }
+            }
+            if (interrupted) {
+                break;
+            }
+        }
+        sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        outboxDepth.set(rows.size() - acknowledged.size());
+
+        if (blockedUsers.isEmpty() && !interrupted) {
+            circuitBreaker.recordSuccess();
+        } else {
+            failedBatches.increment();
+            circuitBreaker.recordFailure();
+        }
+
+        if (!acknowledged.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> userEventOutboxRepository.deleteByIdIn(acknowledged));
+        }
+        log.debug("Relayed {} of {} user events from outbox", acknowledged.size(), rows.size());
+        // Rows held back by the coalescing window also end the drain loop until the next poll.
+        return acknowledged.size() == rows.size() ? rows.size() : 0;
+    }
+
+    // The lease lasts three send timeouts and is renewed once one has passed, so it always
+    // outlasts the sends of the batch being claimed. Instances without it check back once per
+    // send timeout, which bounds the takeover delay after a crash without polling the lease table.
+    private List<UserEventOutbox> claimBatch() {
+        long now = System.nanoTime();
+        if (now - nextLeaseCheck >= 0) {
+            // Stays false if the renewal throws.
+            leaseHeld = false;
+            leaseHeld = userEventOutboxRepository.tryAcquireRelayLease(instanceId, sendTimeout.multipliedBy(3));
+            nextLeaseCheck = now + sendTimeout.toNanos();
+        }
+        if (!leaseHeld) {
+            return List.of();
+        }
+        return userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(batchSize));
+    }
+
+    // The n-th round holds each user's n-th event, so a round never has two events for one user.
+    private static List<List<UserEventCoalescer.CoalescedEvent>> rounds(List<UserEventCoalescer.CoalescedEvent> batch) {
+        List<List<UserEventCoalescer.CoalescedEvent>> rounds = new ArrayList<>();
+        Map<Long, Integer> sentPerUser = new HashMap<>();
+        for (UserEventCoalescer.CoalescedEvent event : batch) {
+            int round = sentPerUser.merge(event.getUserId(), 1, Integer::sum) - 1;
+            if (round == rounds.size()) {
+                rounds.add(new ArrayList<>());
+            }
+            rounds.get(round).add(event);
+        }
+        return rounds;
+    }
+
+    RelayCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    double coalescingRatio() {
+        double rowCount = coalescedRows.count();
+        return rowCount == 0 ? 0.0 : 1.0 - coalescedEvents.count() / rowCount;
+    }
+
+    private void recordCoalescing(List<UserEventCoalescer.CoalescedEvent> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        for (UserEventCoalescer.CoalescedEvent event : batch) {
+            coalescedRows.increment(event.getRowIds().size());
+            if (!event.isEmpty()) {
+                coalescedEvents.increment();
+                if (event.getCreatedAt() != null) {
+                    coalescingHoldTimer.record(Duration.between(event.getCreatedAt(), now));
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<?> send(UserEventCoalescer.CoalescedEvent event) {
+        try {
+            return userEventPublisher.publish(event.getUserId(), event.getPayload());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
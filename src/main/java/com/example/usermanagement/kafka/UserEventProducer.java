@@ -1,45 +1,71 @@
 package com.example.usermanagement.kafka;
 
+import com.example.usermanagement.config.InstanceIdentity;
 import com.example.usermanagement.dto.UserEventDTO;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.usermanagement.entity.UserEventOutbox;
+import com.example.usermanagement.repository.UserEventOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Records user events in the outbox table as part of the caller's transaction.
+ * Nothing here talks to Kafka: {@link UserEventOutboxRelay} publishes committed
+ * rows in the background, so a rollback never emits an event and request latency
+ * does not depend on the broker.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class UserEventProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final UserEventOutboxRepository userEventOutboxRepository;
+    private final UserEventSerializer userEventSerializer;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final InstanceIdentity instanceIdentity;
 
     @Value("${kafka.topic.user-events}")
     private String userEventsTopic;
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendUserEvent(UserEventDTO event) {
-        try {
-            String eventJson = objectMapper.writeValueAsString(event);
-            CompletableFuture<SendResult<String, String>> future =
-                    kafkaTemplate.send(userEventsTopic, event.getUserId().toString(), eventJson);
-
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    log.info("User event sent successfully: {} for user: {}",
-                            event.getEventType(), event.getUserId());
-                } else {
-                    log.error("Failed to send user event: {} for user: {}",
-                            event.getEventType(), event.getUserId(), ex);
-                }
-            });
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing user event", e);
+        event.setSourceInstanceId(instanceIdentity.getId());
+        // Local projections (e.g. the autocomplete index) pick this up once the transaction commits.
+        applicationEventPublisher.publishEvent(event);
+        userEventOutboxRepository.save(toOutbox(event));
+        log.debug("User event queued in outbox: {} for user: {}", event.getEventType(), event.getUserId());
+    }
+
+    // saveAll is JDBC-batched thanks to the pooled outbox sequence.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendUserEvents(List<UserEventDTO> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<UserEventOutbox> rows = new ArrayList<>(events.size());
+        for (UserEventDTO event : events) {
+            event.setSourceInstanceId(instanceIdentity.getId());
+            applicationEventPublisher.publishEvent(event);
+            rows.add(toOutbox(event));
         }
+        userEventOutboxRepository.saveAll(rows);
+        log.info("Queued {} user events in outbox", events.size());
+    }
+
+    // Rows hold the final wire bytes, so the relay forwards them untouched. A serialization
+    // failure rolls the user change back instead of silently losing its event.
+    private UserEventOutbox toOutbox(UserEventDTO event) {
+        return UserEventOutbox.builder()
+                .userId(event.getUserId())
+                .eventType(event.getEventType())
+                .payload(userEventSerializer.serialize(userEventsTopic, event))
+                .build();
     }
 }
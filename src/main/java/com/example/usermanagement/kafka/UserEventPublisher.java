@@ -0,0 +1,14 @@
+package com.example.usermanagement.kafka;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport that carries encoded user events from the outbox relay to the
+ * consumers. Chosen with {@code app.events.transport}: {@code kafka} (default)
+ * or {@code in-process} for single-node and test deployments.
+ * The returned future completes once the transport has accepted the event.
+ */
+public interface UserEventPublisher {
+
+    CompletableFuture<Void> publish(Long userId, byte[] payload);
+}
@@ -0,0 +1,76 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.InstanceIdentity;
+import com.example.usermanagement.dto.UserEventDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Replays user events from the retry tiers (see {@link UserEventRetryTopics}). Each tier
+ * has its own listener, so a long delay on one tier never holds back another. A record
+ * that is not due yet is nacked, which pauses the consumer for the remaining delay while
+ * it keeps polling. A failure hands the record to the next tier or the dead-letter topic
+ * through the container's error handler.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventRetryConsumer {
+
+    private final UserEventConsumer userEventConsumer;
+    private final InstanceIdentity instanceIdentity;
+
+    @KafkaListener(
+            topics = "${kafka.topic.user-events}-retry-0",
+            groupId = "${kafka.consumer.group-id:user-management-group}-#{@instanceIdentity.id}",
+            containerFactory = "userEventsRetryContainerFactory",
+            autoStartup = "#{'${app.events.transport:kafka}' == 'kafka'}"
+    )
+    public void retryTier0(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        retry(record, acknowledgment);
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topic.user-events}-retry-1",
+            groupId = "${kafka.consumer.group-id:user-management-group}-#{@instanceIdentity.id}",
+            containerFactory = "userEventsRetryContainerFactory",
+            autoStartup = "#{'${app.events.transport:kafka}' == 'kafka'}"
+    )
+    public void retryTier1(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        retry(record, acknowledgment);
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topic.user-events}-retry-2",
+            groupId = "${kafka.consumer.group-id:user-management-group}-#{@instanceIdentity.id}",
+            containerFactory = "userEventsRetryContainerFactory",
+            autoStartup = "#{'${app.events.transport:kafka}' == 'kafka'}"
+    )
+    public void retryTier2(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        retry(record, acknowledgment);
+    }
+
+    void retry(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        // Every instance reads the retry topics; only the one whose processing failed retries.
+        if (!instanceIdentity.getId().equals(UserEventRetryTopics.target(record))) {
+            acknowledgment.acknowledge();
+            return;
+        }
+        long wait = UserEventRetryTopics.dueAt(record) - System.currentTimeMillis();
+        if (wait > 0) {
+            acknowledgment.nack(Duration.ofMillis(wait));
+            return;
+        }
+        UserEventDTO event = userEventConsumer.decode(record);
+        log.info("Retrying user event for user: {} (attempt {})",
+                event.getUserId(), UserEventRetryTopics.attempts(record) + 1);
+        userEventConsumer.consumeUserEvent(event);
+        acknowledgment.acknowledge();
+    }
+}
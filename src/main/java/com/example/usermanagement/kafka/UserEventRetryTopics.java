@@ -0,0 +1,120 @@
+package com.example.usermanagement.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Naming and timing of the non-blocking retry chain for user events. A record that
+ * fails on {@code user-events} is republished to {@code user-events-retry-0}, then
+ * {@code -retry-1} and {@code -retry-2}, each tier waiting
+ * {@code initial-interval * multiplier^tier} before the next attempt, and finally to
+ * {@code user-events-dlt}. Every topic holds records with a single delay, so waiting
+ * for the head record never holds back one that is already due.
+ */
+@Component
+public class UserEventRetryTopics {
+
+    public static final int TIERS = 3;
+
+    // Failed attempts so far, the instance whose consumer group owns the retry, and
+    // the epoch millis at which the next attempt is due.
+    public static final String ATTEMPTS_HEADER = "x-user-events-attempts";
+    public static final String TARGET_HEADER = "x-user-events-target";
+    public static final String DUE_AT_HEADER = "x-user-events-due-at";
+
+    private final String userEventsTopic;
+    private final Duration initialInterval;
+    private final double multiplier;
+
+    public UserEventRetryTopics(
+            @Value("${kafka.topic.user-events}") String userEventsTopic,
+            @Value("${kafka.consumer.retry.initial-interval:1s}") Duration initialInterval,
+            @Value("${kafka.consumer.retry.multiplier:5}") double multiplier
+    ) {
+        this.userEventsTopic = userEventsTopic;
+        this.initialInterval = initialInterval;
+        this.multiplier = multiplier;
+    }
+
+    public String retryTopic(int tier) {
+        return userEventsTopic + "-retry-" + tier;
+    }
+
+    public List<String> retryTopics() {
+        List<String> topics = new ArrayList<>(TIERS);
+        for (int tier = 0; tier < TIERS; tier++) {
+            topics.add(retryTopic(tier));
+        }
+        return topics;
+    }
+
+    public String deadLetterTopic() {
+        return userEventsTopic + "-dlt";
+    }
+
+    public Duration delay(int tier) {
+        return Duration.ofMillis((long) (initialInterval.toMillis() * Math.pow(multiplier, tier)));
+    }
+
+    // After n failed attempts the record goes to retry tier n - 1, or the DLT once the tiers are used up.
+    public String destinationAfter(int attempts) {
+        return attempts <= TIERS ? retryTopic(attempts - 1) : deadLetterTopic();
+    }
+
+    // Destination resolver for the dead-letter publisher. Undecodable payloads, which the
+    // listeners report with a SerializationException, skip the retry tiers because another
+    // attempt cannot change the outcome.
+    public TopicPartition destination(ConsumerRecord<?, ?> record, Exception exception) {
+        boolean undecodable = false;
+        for (Throwable cause = exception; cause != null && !undecodable; cause = cause.getCause()) {
+            undecodable = cause instanceof SerializationException;
+        }
+        String topic = undecodable ? deadLetterTopic() : destinationAfter(attempts(record) + 1);
+        // A negative partition leaves the choice to the partitioner, which keys by user id.
+        return new TopicPartition(topic, -1);
+    }
+
+    public Headers nextAttemptHeaders(ConsumerRecord<?, ?> record, String defaultTarget) {
+        int attempts = attempts(record) + 1;
+        String target = target(record);
+        long dueAt = System.currentTimeMillis() + (attempts <= TIERS ? delay(attempts - 1).toMillis() : 0L);
+        return new RecordHeaders()
+                .add(ATTEMPTS_HEADER, utf8(Integer.toString(attempts)))
+                .add(TARGET_HEADER, utf8(target != null ? target : defaultTarget))
+                .add(DUE_AT_HEADER, utf8(Long.toString(dueAt)));
+    }
+
+    public static int attempts(ConsumerRecord<?, ?> record) {
+        String value = lastHeader(record.headers(), ATTEMPTS_HEADER);
+        return value != null ? Integer.parseInt(value) : 0;
+    }
+
+    public static String target(ConsumerRecord<?, ?> record) {
+        return lastHeader(record.headers(), TARGET_HEADER);
+    }
+
+    public static long dueAt(ConsumerRecord<?, ?> record) {
+        String value = lastHeader(record.headers(), DUE_AT_HEADER);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String lastHeader(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
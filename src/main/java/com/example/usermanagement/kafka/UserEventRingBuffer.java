@@ -0,0 +1,70 @@
+package com.example.usermanagement.kafka;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring of event payloads.
+ * Producers claim a sequence with CAS and then publish into the slot; the
+ * consumer reads slots in sequence order and stops at the first one that is
+ * claimed but not yet written, so per-producer order is preserved.
+ */
+final class UserEventRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    UserEventRingBuffer(int requestedCapacity) {
+        int capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(E payload) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.set(index(sequence), payload);
+        return true;
+    }
+
+    // Only ever called from the consumer thread.
+    int drainTo(List<? super E> batch, int maxElements) {
+        long sequence = head.get();
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = index(sequence);
+            E payload = slots.get(index);
+            if (payload == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            batch.add(payload);
+            sequence++;
+            drained++;
+        }
+        if (drained > 0) {
+            head.lazySet(sequence);
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
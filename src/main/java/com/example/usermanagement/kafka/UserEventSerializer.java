@@ -0,0 +1,72 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka serializer for {@link UserEventDTO} that writes either JSON or the compact
+ * {@link UserEventBinaryCodec} format. The format is chosen per topic through
+ * {@code user.events.format.<topic>}, falling back to {@code user.events.format}
+ * (default {@code json}), so topics can be migrated one at a time.
+ */
+public class UserEventSerializer implements Serializer<UserEventDTO> {
+
+    public static final String FORMAT_CONFIG = "user.events.format";
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, UserEventWireFormat> topicFormats = new HashMap<>();
+    private UserEventWireFormat defaultFormat = UserEventWireFormat.JSON;
+
+    public UserEventSerializer() {
+        this(new JacksonConfig().objectMapper());
+    }
+
+    public UserEventSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public UserEventSerializer(ObjectMapper objectMapper, UserEventWireFormat defaultFormat,
+                               Map<String, UserEventWireFormat> topicFormats) {
+        this.objectMapper = objectMapper;
+        this.defaultFormat = defaultFormat;
+        this.topicFormats.putAll(topicFormats);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        String prefix = FORMAT_CONFIG + ".";
+        configs.forEach((key, value) -> {
+            if (key.equals(FORMAT_CONFIG)) {
+                defaultFormat = UserEventWireFormat.fromValue(value.toString());
+            } else if (key.startsWith(prefix)) {
+                topicFormats.put(key.substring(prefix.length()), UserEventWireFormat.fromValue(value.toString()));
+            }
+        });
+    }
+
+    public UserEventWireFormat formatFor(String topic) {
+        return topicFormats.getOrDefault(topic, defaultFormat);
+    }
+
+    @Override
+    public byte[] serialize(String topic, UserEventDTO event) {
+        if (event == null) {
+            return null;
+        }
+        if (formatFor(topic) == UserEventWireFormat.BINARY) {
+            return UserEventBinaryCodec.encode(event);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Unable to serialize user event for user: " + event.getUserId(), e);
+        }
+    }
+}
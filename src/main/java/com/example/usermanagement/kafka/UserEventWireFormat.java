@@ -0,0 +1,12 @@
+package com.example.usermanagement.kafka;
+
+import java.util.Locale;
+
+public enum UserEventWireFormat {
+    JSON,
+    BINARY;
+
+    public static UserEventWireFormat fromValue(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
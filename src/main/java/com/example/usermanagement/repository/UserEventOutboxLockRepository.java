@@ -0,0 +1,13 @@
+package com.example.usermanagement.repository;
+
+import java.time.Duration;
+
+public interface UserEventOutboxLockRepository {
+
+    // Lets a single instance drain the outbox at a time so per-user order survives
+    // scale-out. Granted when the lease is free, expired or already ours, and then held
+    // for leaseDuration past the current transaction; always granted off PostgreSQL.
+    boolean tryAcquireRelayLease(String owner, Duration leaseDuration);
+
+    void releaseRelayLease(String owner);
+}
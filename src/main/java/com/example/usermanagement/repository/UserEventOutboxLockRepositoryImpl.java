@@ -0,0 +1,43 @@
+package com.example.usermanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.Duration;
+
+class UserEventOutboxLockRepositoryImpl implements UserEventOutboxLockRepository {
+
+    // Expiry is computed with the database clock so instances need not agree on time.
+    private static final String ACQUIRE_LEASE = "INSERT INTO user_events_outbox_relay_lease (id, owner, expires_at) " +
+            "VALUES (1, :owner, now() + :millis * INTERVAL '1 millisecond') " +
+            "ON CONFLICT (id) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at " +
+            "WHERE user_events_outbox_relay_lease.owner = EXCLUDED.owner " +
+            "OR user_events_outbox_relay_lease.expires_at < now()";
+
+    private static final String RELEASE_LEASE =
+            "UPDATE user_events_outbox_relay_lease SET expires_at = now() WHERE owner = :owner";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean tryAcquireRelayLease(String owner, Duration leaseDuration) {
+        if (!DatabaseDialects.isPostgres(entityManager)) {
+            return true;
+        }
+        return entityManager.createNativeQuery(ACQUIRE_LEASE)
+                .setParameter("owner", owner)
+                .setParameter("millis", leaseDuration.toMillis())
+                .executeUpdate() == 1;
+    }
+
+    @Override
+    public void releaseRelayLease(String owner) {
+        if (!DatabaseDialects.isPostgres(entityManager)) {
+            return;
+        }
+        entityManager.createNativeQuery(RELEASE_LEASE)
+                .setParameter("owner", owner)
+                .executeUpdate();
+    }
+}
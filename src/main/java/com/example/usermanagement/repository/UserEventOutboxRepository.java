@@ -0,0 +1,22 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.UserEventOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserEventOutboxRepository extends JpaRepository<UserEventOutbox, Long>, UserEventOutboxLockRepository {
+
+    List<UserEventOutbox> findByOrderByRelaySeqAsc(Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM UserEventOutbox e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,14 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.User;
+
+import java.util.List;
+
+public interface UserImportRepository {
+
+    boolean supportsCopyImport();
+
+    // Streams the users into a staging table with COPY and merges them into users,
+    // skipping emails that already exist. Returns the rows actually inserted.
+    List<User> copyInsertIgnoringDuplicates(List<User> users);
+}
@@ -0,0 +1,140 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+class UserImportRepositoryImpl implements UserImportRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email, phone, address, city, country, " +
+            "postal_code, role, status, bio, avatar_url";
+
+    // Per-connection temp table, emptied by every commit.
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMP TABLE IF NOT EXISTS users_import_staging (" +
+            "id BIGINT, first_name VARCHAR(100), last_name VARCHAR(100), email VARCHAR(150), phone VARCHAR(20), " +
+            "address VARCHAR(200), city VARCHAR(100), country VARCHAR(100), postal_code VARCHAR(20), " +
+            "role VARCHAR(20), status VARCHAR(20), bio VARCHAR(500), avatar_url VARCHAR(200)" +
+            ") ON COMMIT DELETE ROWS";
+
+    private static final String COPY_INTO_STAGING =
+            "COPY users_import_staging (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_FROM_STAGING = "INSERT INTO users (" + COLUMNS + ") " +
+            "SELECT " + COLUMNS + " FROM users_import_staging " +
+            "ON CONFLICT (email) DO NOTHING " +
+            "RETURNING id, first_name, last_name, email, role, status, created_at, updated_at";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgres;
+
+    @Override
+    public boolean supportsCopyImport() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = DatabaseDialects.isPostgres(entityManager);
+            postgres = result;
+        }
+        return result;
+    }
+
+    @Override
+    public List<User> copyInsertIgnoringDuplicates(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        assignIds(users);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+            copy(connection, users);
+            return merge(connection);
+        });
+    }
+
+    // Ids come from the entity's pooled generator, one sequence call per 50 rows, rather than
+    // the column default, which would use up a whole block of the INCREMENT BY 50 sequence per row.
+    private void assignIds(List<User> users) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(User.class)
+                .getGenerator();
+        for (User user : users) {
+            user.setId((Long) generator.generate(session, user, null, EventType.INSERT));
+        }
+    }
+
+    private void copy(Connection connection, List<User> users) throws SQLException {
+        StringBuilder csv = new StringBuilder(users.size() * 128);
+        for (User user : users) {
+            appendRow(csv, user);
+        }
+        try {
+            connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_INTO_STAGING, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into staging table failed", e);
+        }
+    }
+
+    private List<User> merge(Connection connection) throws SQLException {
+        List<User> inserted = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(MERGE_FROM_STAGING)) {
+            while (rows.next()) {
+                inserted.add(User.builder()
+                        .id(rows.getLong("id"))
+                        .firstName(rows.getString("first_name"))
+                        .lastName(rows.getString("last_name"))
+                        .email(rows.getString("email"))
+                        .role(User.UserRole.valueOf(rows.getString("role")))
+                        .status(User.UserStatus.valueOf(rows.getString("status")))
+                        .createdAt(rows.getTimestamp("created_at").toLocalDateTime())
+                        .updatedAt(rows.getTimestamp("updated_at").toLocalDateTime())
+                        .build());
+            }
+        }
+        return inserted;
+    }
+
+    private static void appendRow(StringBuilder csv, User user) {
+        csv.append(user.getId()).append(',');
+        appendField(csv, user.getFirstName()).append(',');
+        appendField(csv, user.getLastName()).append(',');
+        appendField(csv, user.getEmail()).append(',');
+        appendField(csv, user.getPhone()).append(',');
+        appendField(csv, user.getAddress()).append(',');
+        appendField(csv, user.getCity()).append(',');
+        appendField(csv, user.getCountry()).append(',');
+        appendField(csv, user.getPostalCode()).append(',');
+        appendField(csv, user.getRole() != null ? user.getRole().name() : null).append(',');
+        appendField(csv, user.getStatus() != null ? user.getStatus().name() : null).append(',');
+        appendField(csv, user.getBio()).append(',');
+        appendField(csv, user.getAvatarUrl()).append('\n');
+    }
+
+    // In COPY's CSV format an unquoted empty field is NULL, so every value is quoted.
+    private static StringBuilder appendField(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
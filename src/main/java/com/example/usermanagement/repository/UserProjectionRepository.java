@@ -0,0 +1,25 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+// Read-only paths that select only the requested columns straight into UserResponse,
+// so no User entity is hydrated, registered in the persistence context or dirty-checked.
+// Sort properties are always selected as well so the caller can build a cursor.
+public interface UserProjectionRepository {
+
+    Page<UserResponse> findResponses(Specification<User> specification, Pageable pageable, Set<UserField> fields);
+
+    Slice<UserResponse> findResponseSlice(Specification<User> specification, Pageable pageable, Set<UserField> fields);
+
+    List<UserResponse> findResponses(Specification<User> specification, Sort sort, Set<UserField> fields);
+}
@@ -0,0 +1,119 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<UserResponse> findResponses(
+            Specification<User> specification,
+            Pageable pageable,
+            Set<UserField> fields
+    ) {
+        List<UserResponse> content = query(specification, pageable.getSort(), fields, pageable, 0);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<UserResponse> findResponseSlice(
+            Specification<User> specification,
+            Pageable pageable,
+            Set<UserField> fields
+    ) {
+        // One extra row tells whether a next slice exists without a count query.
+        List<UserResponse> content = query(specification, pageable.getSort(), fields, pageable, 1);
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public List<UserResponse> findResponses(Specification<User> specification, Sort sort, Set<UserField> fields) {
+        return query(specification, sort, fields, Pageable.unpaged(), 0);
+    }
+
+    private List<UserResponse> query(
+            Specification<User> specification,
+            Sort sort,
+            Set<UserField> fields,
+            Pageable pageable,
+            int extraRows
+    ) {
+        List<UserField> selected = new ArrayList<>(selectedFields(fields, sort));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<User> root = criteria.from(User.class);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (UserField field : selected) {
+            selections.add(root.get(field.getProperty()));
+        }
+        criteria.multiselect(selections);
+        criteria.where(specification.toPredicate(root, criteria, cb));
+        criteria.orderBy(toOrders(sort, root, cb));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + extraRows);
+        }
+
+        List<Tuple> rows = query.getResultList();
+        List<UserResponse> responses = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            UserResponse response = new UserResponse();
+            for (int i = 0; i < selected.size(); i++) {
+                selected.get(i).apply(response, row.get(i));
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private long count(Specification<User> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = cb.createQuery(Long.class);
+        Root<User> root = criteria.from(User.class);
+        criteria.select(cb.count(root));
+        criteria.where(specification.toPredicate(root, criteria, cb));
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    private static Set<UserField> selectedFields(Set<UserField> fields, Sort sort) {
+        Set<UserField> selected = fields.isEmpty() ? EnumSet.noneOf(UserField.class) : EnumSet.copyOf(fields);
+        selected.add(UserField.ID);
+        for (Sort.Order order : sort) {
+            selected.add(UserField.fromProperty(order.getProperty()));
+        }
+        return selected;
+    }
+}
@@ -1,24 +1,44 @@
 package com.example.usermanagement.repository;
 
+import com.example.usermanagement.dto.CountryCount;
+import com.example.usermanagement.dto.CreatedDayCount;
+import com.example.usermanagement.dto.RoleStatusCount;
+import com.example.usermanagement.dto.UserSuggestion;
 import com.example.usermanagement.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>,
+        UserSearchRepository, UserStreamRepository, UserImportRepository, UserProjectionRepository {
 
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     List<User> findByRole(User.UserRole role);
 
     List<User> findByStatus(User.UserStatus status);
@@ -27,12 +47,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Page<User> findByStatus(User.UserStatus status, Pageable pageable);
 
-    @Query("SELECT u FROM User u WHERE " +
-            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<User> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
-
     @Query("SELECT u FROM User u WHERE u.createdAt >= :startDate")
     List<User> findUsersCreatedAfter(@Param("startDate") LocalDateTime startDate);
 
@@ -49,7 +63,38 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     long countByRole(@Param("role") User.UserRole role);
 
+    @Query("SELECT new com.example.usermanagement.dto.RoleStatusCount(u.role, u.status, COUNT(u)) " +
+            "FROM User u GROUP BY u.role, u.status")
+    List<RoleStatusCount> countGroupedByRoleAndStatus();
+
+    @Query("SELECT new com.example.usermanagement.dto.CountryCount(u.country, COUNT(u)) " +
+            "FROM User u GROUP BY u.country")
+    List<CountryCount> countGroupedByCountry();
+
+    @Query("SELECT new com.example.usermanagement.dto.CreatedDayCount(" +
+            "year(u.createdAt), month(u.createdAt), day(u.createdAt), COUNT(u)) " +
+            "FROM User u GROUP BY year(u.createdAt), month(u.createdAt), day(u.createdAt)")
+    List<CreatedDayCount> countGroupedByCreatedDay();
+
     List<User> findByCity(String city);
 
     List<User> findByCountry(String country);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.usermanagement.dto.UserSuggestion(u.id, u.firstName, u.lastName, u.email, u.version) " +
+            "FROM User u")
+    Stream<UserSuggestion> streamSuggestions();
+
+    @Query("SELECT new com.example.usermanagement.dto.UserSuggestion(u.id, u.firstName, u.lastName, u.email, u.version) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<UserSuggestion> findSuggestionById(@Param("id") Long id);
+
+    default Window<User> scrollUsers(
+            Specification<User> specification,
+            Sort sort,
+            int limit,
+            ScrollPosition position
+    ) {
+        return findBy(specification, query -> query.sortBy(sort).limit(limit).scroll(position));
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface UserSearchRepository {
+
+    Page<User> searchUsers(String searchTerm, Pageable pageable);
+
+    Slice<User> searchUsersAsSlice(String searchTerm, Pageable pageable);
+}
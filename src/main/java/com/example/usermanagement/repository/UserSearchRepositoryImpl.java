@@ -0,0 +1,83 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search goes through {@link UserSpecifications#matchesSearchTerm(String)}, i.e. a single
+ * {@code search_text LIKE ... ESCAPE '\'} predicate. On PostgreSQL that column is the
+ * trigram-indexed one added by {@code V3__add_user_search_trigram_index.sql}.
+ */
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<User> searchUsers(String searchTerm, Pageable pageable) {
+        List<User> content = search(searchTerm, pageable, pageable.isPaged() ? pageable.getPageSize() : -1);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(searchTerm));
+    }
+
+    @Override
+    public Slice<User> searchUsersAsSlice(String searchTerm, Pageable pageable) {
+        int limit = pageable.isPaged() ? pageable.getPageSize() + 1 : -1;
+        List<User> content = search(searchTerm, pageable, limit);
+
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private List<User> search(String searchTerm, Pageable pageable, int limit) {
+        Specification<User> specification = UserSpecifications.matchesSearchTerm(searchTerm);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> criteria = cb.createQuery(User.class);
+        Root<User> root = criteria.from(User.class);
+        criteria.where(specification.toPredicate(root, criteria, cb));
+        criteria.orderBy(orders(pageable.getSort(), root, cb));
+
+        TypedQuery<User> query = entityManager.createQuery(criteria);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+        }
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    private long count(String searchTerm) {
+        Specification<User> specification = UserSpecifications.matchesSearchTerm(searchTerm);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = cb.createQuery(Long.class);
+        Root<User> root = criteria.from(User.class);
+        criteria.select(cb.count(root)).where(specification.toPredicate(root, criteria, cb));
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    // The id tiebreaker keeps offset pages stable when the requested sort has duplicates.
+    private static List<Order> orders(Sort sort, Root<User> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(sort, root, cb));
+        if (sort.getOrderFor("id") == null) {
+            orders.add(cb.asc(root.get("id")));
+        }
+        return orders;
+    }
+}
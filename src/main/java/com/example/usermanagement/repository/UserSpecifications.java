@@ -0,0 +1,55 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+public final class UserSpecifications {
+
+    static final char LIKE_ESCAPE = '\\';
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> all() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    public static Specification<User> hasRole(User.UserRole role) {
+        return (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> hasStatus(User.UserStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<User> hasCity(String city) {
+        return (root, query, cb) -> cb.equal(root.get("city"), city);
+    }
+
+    public static Specification<User> hasCountry(String country) {
+        return (root, query, cb) -> cb.equal(root.get("country"), country);
+    }
+
+    public static Specification<User> idBetween(long fromInclusive, long toInclusive) {
+        return (root, query, cb) -> cb.between(root.<Long>get("id"), fromInclusive, toInclusive);
+    }
+
+    public static Specification<User> matchesSearchTerm(String searchTerm) {
+        return (root, query, cb) ->
+                cb.like(root.<String>get("searchText"), containsPattern(searchTerm), LIKE_ESCAPE);
+    }
+
+    /**
+     * Lower-cases the term and escapes LIKE wildcards, so that {@code %}, {@code _} and
+     * {@code \} match literally; use it with {@link #LIKE_ESCAPE} as the escape character.
+     */
+    static String containsPattern(String searchTerm) {
+        String escaped = searchTerm.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.User;
+import org.springframework.data.domain.Range;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface UserStreamRepository {
+
+    // Streams matching users in id order, detaching each row once read so memory stays flat.
+    // Must be consumed inside a transaction and closed by the caller.
+    Stream<User> streamUsers(Specification<User> specification, int fetchSize);
+
+    Optional<Range<Long>> findIdRange(Specification<User> specification);
+}
@@ -0,0 +1,58 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Range;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+class UserStreamRepositoryImpl implements UserStreamRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<User> streamUsers(Specification<User> specification, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> criteria = cb.createQuery(User.class);
+        Root<User> root = criteria.from(User.class);
+        criteria.where(specification.toPredicate(root, criteria, cb));
+        criteria.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(criteria)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(user -> {
+                    entityManager.detach(user);
+                    return user;
+                });
+    }
+
+    @Override
+    public Optional<Range<Long>> findIdRange(Specification<User> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<User> root = criteria.from(User.class);
+        criteria.multiselect(cb.min(root.<Long>get("id")), cb.max(root.<Long>get("id")));
+        criteria.where(specification.toPredicate(root, criteria, cb));
+
+        Tuple bounds = entityManager.createQuery(criteria).getSingleResult();
+        Long min = bounds.get(0, Long.class);
+        Long max = bounds.get(1, Long.class);
+        if (min == null || max == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Range.closed(min, max));
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.dto.UserSuggestion;
+import com.example.usermanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process type-ahead over first name, last name, full name and email.
+ * Normalized tokens are kept in a sorted map, so a prefix lookup is a range scan
+ * that never reaches the database. Built once at startup, then maintained from
+ * user events: local ones after their transaction commits, remote ones from Kafka.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserAutocompleteIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[\\s\\-']+");
+
+    private final UserRepository userRepository;
+
+    private final NavigableSet<String> tokens = new ConcurrentSkipListSet<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, UserSuggestion> suggestions = new ConcurrentHashMap<>();
+    private final Set<Long> removedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean building;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        long start = System.nanoTime();
+        building = true;
+        removedDuringBuild.clear();
+        try (Stream<UserSuggestion> rows = userRepository.streamSuggestions()) {
+            rows.forEach(this::putIfAbsent);
+        } finally {
+            building = false;
+            removedDuringBuild.clear();
+        }
+        log.info("Autocomplete index built with {} users and {} tokens in {} ms",
+                suggestions.size(), tokens.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public List<UserSuggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String token : tokens.subSet(normalized, true, normalized + Character.MAX_VALUE, false)) {
+            for (Long id : postings.getOrDefault(token, Set.of())) {
+                ids.add(id);
+                if (ids.size() == limit) {
+                    return toSuggestions(ids);
+                }
+            }
+        }
+        return toSuggestions(ids);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEventDTO event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        if (UserEventDTO.EventType.USER_DELETED.name().equals(event.getEventType())) {
+            remove(event.getUserId());
+        } else if (event.getChanges() != null) {
+            applyChanges(event);
+        } else {
+            put(new UserSuggestion(event.getUserId(), event.getFirstName(), event.getLastName(),
+                    event.getEmail(), event.getVersion()));
+        }
+    }
+
+    // Update events only carry changed fields, so merge them into the indexed suggestion.
+    // A user that is not indexed yet is left to the startup scan, which reads the committed row.
+    // Deltas at or below the indexed version are already reflected; any other gap means one
+    // was missed or arrived out of order, so the row is reloaded instead.
+    private void applyChanges(UserEventDTO event) {
+        UserSuggestion current = suggestions.get(event.getUserId());
+        if (current == null) {
+            return;
+        }
+        if (event.getVersion() != null && current.getVersion() != null
+                && event.getVersion() <= current.getVersion()) {
+            return;
+        }
+        if (event.getVersion() == null || current.getVersion() == null
+                || event.getVersion() != current.getVersion() + 1) {
+            refresh(event.getUserId());
+            return;
+        }
+        String firstName = current.getFirstName();
+        String lastName = current.getLastName();
+        String email = current.getEmail();
+        boolean indexedFieldChanged = false;
+        for (UserFieldChange change : event.getChanges()) {
+            switch (change.getField()) {
+                case FIRST_NAME -> firstName = change.getNewValue();
+                case LAST_NAME -> lastName = change.getNewValue();
+                case EMAIL -> email = change.getNewValue();
+                default -> {
+                    continue;
+                }
+            }
+            indexedFieldChanged = true;
+        }
+        UserSuggestion next = new UserSuggestion(event.getUserId(), firstName, lastName, email, event.getVersion());
+        if (indexedFieldChanged) {
+            put(next);
+        } else {
+            // Tokens are unchanged; only the version moves on.
+            suggestions.replace(event.getUserId(), current, next);
+        }
+    }
+
+    private void refresh(Long id) {
+        userRepository.findSuggestionById(id).ifPresentOrElse(this::put, () -> remove(id));
+    }
+
+    public int size() {
+        return suggestions.size();
+    }
+
+    // An indexed suggestion with a newer version than the incoming one is kept.
+    private void put(UserSuggestion suggestion) {
+        suggestions.compute(suggestion.getId(), (id, previous) -> {
+            if (previous != null && isNewer(previous, suggestion)) {
+                return previous;
+            }
+            if (previous != null) {
+                tokensOf(previous).forEach(token -> removeToken(token, id));
+            }
+            tokensOf(suggestion).forEach(token -> addToken(token, id));
+            return suggestion;
+        });
+    }
+
+    // Used by the startup scan: anything indexed or removed by an event since the scan
+    // began is newer than the scanned row.
+    private void putIfAbsent(UserSuggestion suggestion) {
+        if (removedDuringBuild.contains(suggestion.getId())) {
+            return;
+        }
+        suggestions.computeIfAbsent(suggestion.getId(), id -> {
+            tokensOf(suggestion).forEach(token -> addToken(token, id));
+            return suggestion;
+        });
+    }
+
+    private void remove(Long id) {
+        if (building) {
+            removedDuringBuild.add(id);
+        }
+        suggestions.computeIfPresent(id, (key, previous) -> {
+            tokensOf(previous).forEach(token -> removeToken(token, key));
+            return null;
+        });
+    }
+
+    // The sorted token set is only touched under the posting's map lock, so a token is
+    // listed exactly while it has at least one id.
+    private void addToken(String token, Long id) {
+        postings.compute(token, (key, ids) -> {
+            if (ids == null) {
+                ids = ConcurrentHashMap.newKeySet();
+                tokens.add(key);
+            }
+            ids.add(id);
+            return ids;
+        });
+    }
+
+    private void removeToken(String token, Long id) {
+        postings.computeIfPresent(token, (key, ids) -> {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                tokens.remove(key);
+                return null;
+            }
+            return ids;
+        });
+    }
+
+    private static boolean isNewer(UserSuggestion indexed, UserSuggestion incoming) {
+        return indexed.getVersion() != null && incoming.getVersion() != null
+                && indexed.getVersion() > incoming.getVersion();
+    }
+
+    private List<UserSuggestion> toSuggestions(Set<Long> ids) {
+        List<UserSuggestion> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            UserSuggestion suggestion = suggestions.get(id);
+            if (suggestion != null) {
+                result.add(suggestion);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> tokensOf(UserSuggestion suggestion) {
+        Set<String> result = new LinkedHashSet<>();
+        String firstName = normalize(suggestion.getFirstName());
+        String lastName = normalize(suggestion.getLastName());
+        addWords(result, firstName);
+        addWords(result, lastName);
+        if (!firstName.isEmpty() && !lastName.isEmpty()) {
+            result.add(firstName + " " + lastName);
+        }
+        String email = normalize(suggestion.getEmail());
+        if (!email.isEmpty()) {
+            result.add(email);
+        }
+        return result;
+    }
+
+    private static void addWords(Set<String> target, String value) {
+        if (value.isEmpty()) {
+            return;
+        }
+        target.add(value);
+        for (String word : WORD_SEPARATORS.split(value)) {
+            if (!word.isEmpty()) {
+                target.add(word);
+            }
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
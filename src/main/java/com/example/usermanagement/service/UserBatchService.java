@@ -0,0 +1,11 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.dto.BatchUserResponse;
+import com.example.usermanagement.dto.UserRequest;
+
+import java.util.List;
+
+public interface UserBatchService {
+
+    BatchUserResponse createUsers(List<UserRequest> requests);
+}
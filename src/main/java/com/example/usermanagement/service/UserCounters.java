@@ -0,0 +1,177 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.dto.RoleStatusCount;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live user counts per role and status, kept in memory so count lookups never hit
+ * the database. Seeded from one grouped query at startup, then moved by user events:
+ * local ones after their transaction commits, remote ones from Kafka. A periodic
+ * reconciliation against the database corrects drift that persists across two rounds
+ * and reports its size.
+ */
+@Component
+@Slf4j
+public class UserCounters {
+
+    private static final User.UserRole[] ROLES = User.UserRole.values();
+    private static final User.UserStatus[] STATUSES = User.UserStatus.values();
+
+    private final UserRepository userRepository;
+    private final LongAdder[][] cells = new LongAdder[ROLES.length][STATUSES.length];
+    private final LongAdder appliedEvents = new LongAdder();
+    private final AtomicLong lastDrift = new AtomicLong();
+    private final long[][] suspectedDrift = new long[ROLES.length][STATUSES.length];
+
+    private volatile boolean seeded;
+
+    public UserCounters(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        for (int r = 0; r < ROLES.length; r++) {
+            for (int s = 0; s < STATUSES.length; s++) {
+                cells[r][s] = new LongAdder();
+            }
+        }
+        Gauge.builder("user.counters.drift", lastDrift, AtomicLong::get)
+                .description("Absolute difference between live counters and the database at the last reconciliation")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        long[][] snapshot = load();
+        for (int r = 0; r < ROLES.length; r++) {
+            for (int s = 0; s < STATUSES.length; s++) {
+                cells[r][s].add(snapshot[r][s] - cells[r][s].sum());
+            }
+        }
+        seeded = true;
+        log.info("User counters seeded with {} users", total());
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEventDTO event) {
+        if (event.getEventType() == null || event.getRole() == null || event.getStatus() == null) {
+            return;
+        }
+        switch (event.getEventType()) {
+            case "USER_CREATED" -> cell(event.getRole(), event.getStatus()).increment();
+            case "USER_DELETED" -> cell(event.getRole(), event.getStatus()).decrement();
+            case "USER_UPDATED", "USER_STATUS_CHANGED" -> {
+                if (event.getPreviousRole() == null || event.getPreviousStatus() == null) {
+                    return;
+                }
+                cell(event.getPreviousRole(), event.getPreviousStatus()).decrement();
+                cell(event.getRole(), event.getStatus()).increment();
+            }
+            default -> {
+                return;
+            }
+        }
+        appliedEvents.increment();
+    }
+
+    public long countByRole(User.UserRole role) {
+        long count = 0;
+        for (LongAdder cell : cells[role.ordinal()]) {
+            count += cell.sum();
+        }
+        return count;
+    }
+
+    public long countByStatus(User.UserStatus status) {
+        long count = 0;
+        for (LongAdder[] row : cells) {
+            count += row[status.ordinal()].sum();
+        }
+        return count;
+    }
+
+    public long count(User.UserRole role, User.UserStatus status) {
+        return cell(role, status).sum();
+    }
+
+    public long total() {
+        long count = 0;
+        for (LongAdder[] row : cells) {
+            for (LongAdder cell : row) {
+                count += cell.sum();
+            }
+        }
+        return count;
+    }
+
+    // A commit can be in the database before its after-commit event has moved the counters,
+    // so a single round cannot tell drift from an event still in flight. A cell is only
+    // corrected when two consecutive rounds see the same difference; rounds that overlap
+    // with applied events are skipped outright.
+    @Scheduled(
+            fixedDelayString = "${app.counters.reconcile-interval:5m}",
+            initialDelayString = "${app.counters.reconcile-interval:5m}"
+    )
+    public void reconcile() {
+        if (!seeded) {
+            return;
+        }
+        long eventsBefore = appliedEvents.sum();
+        long[][] snapshot = load();
+        if (appliedEvents.sum() != eventsBefore) {
+            log.debug("User counters changed during reconciliation, retrying next round");
+            return;
+        }
+
+        long drift = 0;
+        for (int r = 0; r < ROLES.length; r++) {
+            for (int s = 0; s < STATUSES.length; s++) {
+                long delta = snapshot[r][s] - cells[r][s].sum();
+                if (delta != 0 && delta == suspectedDrift[r][s]) {
+                    cells[r][s].add(delta);
+                    drift += Math.abs(delta);
+                    delta = 0;
+                }
+                suspectedDrift[r][s] = delta;
+            }
+        }
+        lastDrift.set(drift);
+        if (drift > 0) {
+            log.warn("User counters drifted by {} from the database and were corrected", drift);
+        }
+    }
+
+    public long getLastDrift() {
+        return lastDrift.get();
+    }
+
+    private long[][] load() {
+        long[][] snapshot = new long[ROLES.length][STATUSES.length];
+        List<RoleStatusCount> rows = userRepository.countGroupedByRoleAndStatus();
+        for (RoleStatusCount row : rows) {
+            snapshot[row.getRole().ordinal()][row.getStatus().ordinal()] = row.getCount();
+        }
+        return snapshot;
+    }
+
+    private LongAdder cell(User.UserRole role, User.UserStatus status) {
+        return cells[role.ordinal()][status.ordinal()];
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.dto.ExportFormat;
+import com.example.usermanagement.dto.UserExportFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+    long exportUsers(ExportFormat format, UserExportFilter filter, int partitions, OutputStream outputStream)
+            throws IOException;
+}
@@ -0,0 +1,17 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.dto.ExportFormat;
+import com.example.usermanagement.dto.ImportJobStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface UserImportService {
+
+    ImportJobStatus importUsers(String jobId, ExportFormat format, InputStream inputStream) throws IOException;
+
+    ImportJobStatus getImportJob(String jobId);
+
+    List<ImportJobStatus> getImportJobs();
+}
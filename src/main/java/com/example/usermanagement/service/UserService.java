@@ -1,12 +1,20 @@
 package com.example.usermanagement.service;
 
 import com.example.usermanagement.dto.PageResponse;
+import com.example.usermanagement.dto.PageTotalMode;
+import com.example.usermanagement.dto.StatsBucket;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserPatchRequest;
 import com.example.usermanagement.dto.UserRequest;
 import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.dto.UserStatsResponse;
+import com.example.usermanagement.dto.UserSuggestion;
 import com.example.usermanagement.entity.User;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Set;
 
 public interface UserService {
 
@@ -14,25 +22,102 @@ public interface UserService {
 
     UserResponse getUserById(Long id);
 
-    PageResponse<UserResponse> getAllUsers(Pageable pageable);
+    default PageResponse<UserResponse> getAllUsers(Pageable pageable) {
+        return getAllUsers(pageable, PageTotalMode.EXACT);
+    }
+
+    default PageResponse<UserResponse> getAllUsers(Pageable pageable, PageTotalMode totalMode) {
+        return getAllUsers(pageable, totalMode, UserField.all());
+    }
+
+    PageResponse<UserResponse> getAllUsers(Pageable pageable, PageTotalMode totalMode, Set<UserField> fields);
+
+    PageResponse<UserResponse> getAllUsers(String after, int size, Sort sort);
 
     UserResponse updateUser(Long id, UserRequest request);
 
+    UserResponse patchUser(Long id, UserPatchRequest request);
+
     void deleteUser(Long id);
 
-    PageResponse<UserResponse> searchUsers(String searchTerm, Pageable pageable);
+    default PageResponse<UserResponse> searchUsers(String searchTerm, Pageable pageable) {
+        return searchUsers(searchTerm, pageable, PageTotalMode.EXACT);
+    }
+
+    PageResponse<UserResponse> searchUsers(String searchTerm, Pageable pageable, PageTotalMode totalMode);
+
+    PageResponse<UserResponse> searchUsers(String searchTerm, String after, int size, Sort sort);
+
+    default PageResponse<UserResponse> getUsersByRole(User.UserRole role, Pageable pageable) {
+        return getUsersByRole(role, pageable, PageTotalMode.EXACT);
+    }
+
+    default PageResponse<UserResponse> getUsersByRole(User.UserRole role, Pageable pageable, PageTotalMode totalMode) {
+        return getUsersByRole(role, pageable, totalMode, UserField.all());
+    }
+
+    PageResponse<UserResponse> getUsersByRole(
+            User.UserRole role,
+            Pageable pageable,
+            PageTotalMode totalMode,
+            Set<UserField> fields
+    );
 
-    PageResponse<UserResponse> getUsersByRole(User.UserRole role, Pageable pageable);
+    PageResponse<UserResponse> getUsersByRole(User.UserRole role, String after, int size);
 
-    PageResponse<UserResponse> getUsersByStatus(User.UserStatus status, Pageable pageable);
+    default PageResponse<UserResponse> getUsersByStatus(User.UserStatus status, Pageable pageable) {
+        return getUsersByStatus(status, pageable, PageTotalMode.EXACT);
+    }
 
-    PageResponse<UserResponse> getUsersByRoleAndStatus(User.UserRole role, User.UserStatus status, Pageable pageable);
+    default PageResponse<UserResponse> getUsersByStatus(
+            User.UserStatus status,
+            Pageable pageable,
+            PageTotalMode totalMode
+    ) {
+        return getUsersByStatus(status, pageable, totalMode, UserField.all());
+    }
 
-    List<UserResponse> getUsersByCity(String city);
+    PageResponse<UserResponse> getUsersByStatus(
+            User.UserStatus status,
+            Pageable pageable,
+            PageTotalMode totalMode,
+            Set<UserField> fields
+    );
 
-    List<UserResponse> getUsersByCountry(String country);
+    PageResponse<UserResponse> getUsersByStatus(User.UserStatus status, String after, int size);
+
+    default PageResponse<UserResponse> getUsersByRoleAndStatus(
+            User.UserRole role,
+            User.UserStatus status,
+            Pageable pageable
+    ) {
+        return getUsersByRoleAndStatus(role, status, pageable, UserField.all());
+    }
+
+    PageResponse<UserResponse> getUsersByRoleAndStatus(
+            User.UserRole role,
+            User.UserStatus status,
+            Pageable pageable,
+            Set<UserField> fields
+    );
+
+    default List<UserResponse> getUsersByCity(String city) {
+        return getUsersByCity(city, UserField.all());
+    }
+
+    List<UserResponse> getUsersByCity(String city, Set<UserField> fields);
+
+    default List<UserResponse> getUsersByCountry(String country) {
+        return getUsersByCountry(country, UserField.all());
+    }
+
+    List<UserResponse> getUsersByCountry(String country, Set<UserField> fields);
 
     long countUsersByStatus(User.UserStatus status);
 
     long countUsersByRole(User.UserRole role);
+
+    UserStatsResponse getUserStats(boolean includeCountries, StatsBucket createdBucket);
+
+    List<UserSuggestion> autocomplete(String prefix, int limit);
 }
@@ -0,0 +1,67 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.exception.UserNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every {@link UserService} call as {@code user.service}, tagged with the
+ * operation (method name), its outcome and exception, and the role and status the
+ * call filtered by ({@code none} otherwise). Every tag has a small fixed set of values,
+ * and every timer carries the same tag keys, as Prometheus requires.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class UserServiceMetricsAspect {
+
+    static final String TIMER = "user.service";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* com.example.usermanagement.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .description("Time spent in UserService calls")
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .tag("role", argument(joinPoint, User.UserRole.class))
+                    .tag("status", argument(joinPoint, User.UserStatus.class))
+                    .register(meterRegistry));
+        }
+    }
+
+    // Exceptions from our own exception package become 4xx responses in GlobalExceptionHandler.
+    private static String outcome(Throwable e) {
+        return e.getClass().getPackageName().equals(UserNotFoundException.class.getPackageName())
+                ? "client_error"
+                : "error";
+    }
+
+    private static String argument(ProceedingJoinPoint joinPoint, Class<? extends Enum<?>> type) {
+        for (Object arg : joinPoint.getArgs()) {
+            if (type.isInstance(arg)) {
+                return ((Enum<?>) arg).name();
+            }
+        }
+        return NONE;
+    }
+}
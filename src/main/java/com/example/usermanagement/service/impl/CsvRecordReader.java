@@ -0,0 +1,85 @@
+package com.example.usermanagement.service.impl;
+
+import com.example.usermanagement.exception.InvalidImportFileException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Minimal RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks.
+// A record longer than maxRecordLength characters rejects the file, since an unterminated
+// quote would otherwise buffer the whole remaining body.
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private int pushedBack = -2;
+    private int recordLength;
+
+    CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    // Returns the next record, or null at end of input.
+    List<String> readRecord() throws IOException {
+        recordLength = 0;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new InvalidImportFileException("CSV file ends inside a quoted field");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        if (++recordLength > maxRecordLength) {
+            throw new InvalidImportFileException("CSV record exceeds " + maxRecordLength + " characters");
+        }
+        return reader.read();
+    }
+}
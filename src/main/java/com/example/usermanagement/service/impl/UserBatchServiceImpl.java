@@ -0,0 +1,153 @@
+package com.example.usermanagement.service.impl;
+
+import com.example.usermanagement.dto.BatchUserResponse;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserRequest;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.kafka.UserEventProducer;
+import com.example.usermanagement.repository.UserRepository;
+import com.example.usermanagement.service.UserBatchService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class UserBatchServiceImpl implements UserBatchService {
+
+    private static final int EMAIL_LOOKUP_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final UserEventProducer userEventProducer;
+    private final EntityManager entityManager;
+    private final Validator validator;
+
+    // Matches hibernate.jdbc.batch_size so each flush sends full JDBC batches.
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public BatchUserResponse createUsers(List<UserRequest> requests) {
+        log.info("Creating {} users in batch", requests.size());
+
+        BatchUserResponse.ItemResult[] results = new BatchUserResponse.ItemResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            UserRequest request = requests.get(i);
+            List<String> errors = validate(request);
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = failure(i, request, BatchUserResponse.ItemStatus.INVALID, errors);
+            }
+        }
+
+        Set<String> takenEmails = findExistingEmails(validIndexes.stream()
+                .map(i -> requests.get(i).getEmail())
+                .collect(Collectors.toList()));
+
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<User> pendingUsers = new ArrayList<>();
+        List<UserEventDTO> events = new ArrayList<>();
+        for (Integer i : validIndexes) {
+            UserRequest request = requests.get(i);
+            // add() also rejects an email repeated within this batch
+            if (!takenEmails.add(request.getEmail())) {
+                results[i] = failure(i, request, BatchUserResponse.ItemStatus.DUPLICATE,
+                        List.of("User with email already exists: " + request.getEmail()));
+                continue;
+            }
+            pendingIndexes.add(i);
+            pendingUsers.add(request.toEntity());
+            if (pendingUsers.size() == batchSize) {
+                insert(pendingIndexes, pendingUsers, results, events);
+            }
+        }
+        insert(pendingIndexes, pendingUsers, results, events);
+
+        userEventProducer.sendUserEvents(events);
+
+        int created = events.size();
+        log.info("Batch created {} of {} users", created, requests.size());
+        return BatchUserResponse.builder()
+                .requested(requests.size())
+                .created(created)
+                .failed(requests.size() - created)
+                .results(List.of(results))
+                .build();
+    }
+
+    private void insert(
+            List<Integer> indexes,
+            List<User> users,
+            BatchUserResponse.ItemResult[] results,
+            List<UserEventDTO> events
+    ) {
+        if (users.isEmpty()) {
+            return;
+        }
+        List<User> savedUsers = userRepository.saveAll(users);
+        // Flush per chunk so the persistence context stays small and inserts go out as JDBC batches.
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int j = 0; j < savedUsers.size(); j++) {
+            User user = savedUsers.get(j);
+            int index = indexes.get(j);
+            results[index] = BatchUserResponse.ItemResult.builder()
+                    .index(index)
+                    .email(user.getEmail())
+                    .status(BatchUserResponse.ItemStatus.CREATED)
+                    .id(user.getId())
+                    .build();
+            events.add(UserEventDTO.fromEntity(user, UserEventDTO.EventType.USER_CREATED));
+        }
+        indexes.clear();
+        users.clear();
+    }
+
+    private Set<String> findExistingEmails(List<String> emails) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, emails.size()));
+            existing.addAll(userRepository.findExistingEmails(chunk));
+        }
+        return existing;
+    }
+
+    private List<String> validate(UserRequest request) {
+        if (request == null) {
+            return List.of("User must not be null");
+        }
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private BatchUserResponse.ItemResult failure(
+            int index,
+            UserRequest request,
+            BatchUserResponse.ItemStatus status,
+            List<String> errors
+    ) {
+        return BatchUserResponse.ItemResult.builder()
+                .index(index)
+                .email(request != null ? request.getEmail() : null)
+                .status(status)
+                .errors(errors)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.usermanagement.service.impl;
+
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.exception.InvalidCursorException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes the keyset of the last row of a page as an opaque, URL-safe cursor.
+ * Only non-nullable columns can be used as keys, otherwise the seek predicate
+ * would silently skip rows.
+ */
+final class UserCursorCodec {
+
+    private static final String ID_PROPERTY = "id";
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(
+            ID_PROPERTY, "firstName", "lastName", "email", "role", "status", "createdAt", "updatedAt"
+    );
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static final TypeReference<Map<String, Object>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    private UserCursorCodec() {
+    }
+
+    static boolean supports(Sort sort) {
+        return sort.isSorted() && sort.stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+    }
+
+    static Sort keysetSort(Sort sort) {
+        if (!sort.isSorted()) {
+            return Sort.by(ID_PROPERTY);
+        }
+        if (!supports(sort)) {
+            throw new InvalidCursorException("Cursor pagination does not support sorting by: " + sort);
+        }
+        if (sort.getOrderFor(ID_PROPERTY) != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.stream()
+                .reduce((first, second) -> second)
+                .map(Sort.Order::getDirection)
+                .orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, ID_PROPERTY));
+    }
+
+    // Works on a User or a UserResponse; both expose the sortable properties under the same names.
+    static String encode(Object row, Sort sort) {
+        BeanWrapper wrapper = new BeanWrapperImpl(row);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : keysetSort(sort)) {
+            keys.put(order.getProperty(), wrapper.getPropertyValue(order.getProperty()));
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keys));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode page cursor", e);
+        }
+    }
+
+    static ScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> encodedKeys;
+        try {
+            encodedKeys = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed page cursor");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : keysetSort(sort)) {
+            String property = order.getProperty();
+            Object value = encodedKeys.get(property);
+            if (value == null) {
+                throw new InvalidCursorException("Page cursor does not match sort order: " + sort);
+            }
+            Class<?> type = BeanUtils.getPropertyDescriptor(User.class, property).getPropertyType();
+            try {
+                keys.put(property, MAPPER.convertValue(value, type));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException("Malformed page cursor");
+            }
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.usermanagement.service.impl;
+
+import com.example.usermanagement.dto.ExportFormat;
+import com.example.usermanagement.dto.UserExportFilter;
+import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.repository.UserRepository;
+import com.example.usermanagement.repository.UserSpecifications;
+import com.example.usermanagement.service.UserExportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final String CSV_HEADER = "id,firstName,lastName,email,phone,address,city,country,postalCode," +
+            "role,status,bio,avatarUrl,createdAt,updatedAt,lastLoginAt\n";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final byte[] END_OF_PARTITION = new byte[0];
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final AsyncTaskExecutor taskExecutor;
+    // Shared by every export: each parallel reader holds a pooled connection for the whole
+    // export, so their total must stay well below the pool size.
+    private final Semaphore readerPermits;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.export.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${app.export.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Readers run on Boot's application task executor, which uses virtual threads when
+    // spring.threads.virtual.enabled is set.
+    public UserExportServiceImpl(
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+            @Value("${app.export.max-parallel-readers:4}") int maxParallelReaders
+    ) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.transactionManager = transactionManager;
+        this.taskExecutor = taskExecutor;
+        this.readerPermits = new Semaphore(maxParallelReaders);
+    }
+
+    @Override
+    public long exportUsers(ExportFormat format, UserExportFilter filter, int partitions, OutputStream outputStream)
+            throws IOException {
+        log.info("Exporting users as {} with {} partition(s)", format, partitions);
+        long start = System.nanoTime();
+        Specification<User> specification = toSpecification(filter);
+        BufferedOutputStream out = new BufferedOutputStream(outputStream, bufferSize);
+        if (format == ExportFormat.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        int readers = partitions > 1 ? acquireReaders(partitions) : 0;
+        long rows;
+        try {
+            rows = readers > 1
+                    ? exportPartitioned(format, specification, readers, out)
+                    : exportSequential(format, specification, out);
+        } finally {
+            readerPermits.release(readers);
+        }
+        out.flush();
+
+        log.info("Exported {} users as {} in {} ms", rows, format, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    // Takes what is free instead of waiting; with fewer than two readers left the export
+    // falls back to a sequential read on the request thread.
+    private int acquireReaders(int partitions) {
+        int acquired = 0;
+        while (acquired < partitions && readerPermits.tryAcquire()) {
+            acquired++;
+        }
+        if (acquired < partitions) {
+            log.info("Only {} of {} export readers free; exporting with {}", acquired, partitions, Math.max(acquired, 1));
+        }
+        return acquired;
+    }
+
+    private long exportSequential(ExportFormat format, Specification<User> specification, OutputStream out) {
+        AtomicLong rows = new AtomicLong();
+        readOnlyTransaction().executeWithoutResult(status -> {
+            try (Stream<User> users = userRepository.streamUsers(specification, fetchSize)) {
+                users.forEach(user -> {
+                    try {
+                        out.write(toLine(format, user));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows.incrementAndGet();
+                });
+            }
+        });
+        return rows.get();
+    }
+
+    // Each partition streams its own id range in its own transaction; lines meet in a
+    // bounded queue, so a slow client back-pressures the readers instead of filling the heap.
+    // Rows from different partitions are interleaved.
+    private long exportPartitioned(
+            ExportFormat format,
+            Specification<User> specification,
+            int partitions,
+            OutputStream out
+    ) throws IOException {
+        Optional<Range<Long>> idRange = readOnlyTransaction().execute(status -> userRepository.findIdRange(specification));
+        if (idRange == null || idRange.isEmpty()) {
+            return 0;
+        }
+
+        BlockingQueue<byte[]> lines = new ArrayBlockingQueue<>(queueCapacity);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (Range<Long> partition : split(idRange.get(), partitions)) {
+                Specification<User> partitionSpecification = specification.and(UserSpecifications.idBetween(
+                        partition.getLowerBound().getValue().orElseThrow(),
+                        partition.getUpperBound().getValue().orElseThrow()));
+                workers.add(taskExecutor.submit(() -> streamPartition(format, partitionSpecification, lines)));
+            }
+
+            long rows = 0;
+            int finished = 0;
+            while (finished < workers.size()) {
+                byte[] line = lines.take();
+                if (line == END_OF_PARTITION) {
+                    finished++;
+                } else {
+                    out.write(line);
+                    rows++;
+                }
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Export partition failed", e.getCause());
+        } finally {
+            // Interrupts readers still blocked on a full queue after a failure.
+            workers.forEach(worker -> worker.cancel(true));
+        }
+    }
+
+    private void streamPartition(ExportFormat format, Specification<User> specification, BlockingQueue<byte[]> lines) {
+        try {
+            readOnlyTransaction().executeWithoutResult(status -> {
+                try (Stream<User> users = userRepository.streamUsers(specification, fetchSize)) {
+                    users.forEach(user -> {
+                        try {
+                            lines.put(toLine(format, user));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Export partition interrupted", e);
+                        }
+                    });
+                }
+            });
+        } finally {
+            try {
+                lines.put(END_OF_PARTITION);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    static List<Range<Long>> split(Range<Long> idRange, int partitions) {
+        long min = idRange.getLowerBound().getValue().orElseThrow();
+        long max = idRange.getUpperBound().getValue().orElseThrow();
+        long width = Math.max(1, (max - min + partitions) / partitions);
+
+        List<Range<Long>> ranges = new ArrayList<>();
+        for (long from = min; from <= max; from += width) {
+            ranges.add(Range.closed(from, Math.min(max, from + width - 1)));
+        }
+        return ranges;
+    }
+
+    private byte[] toLine(ExportFormat format, User user) {
+        if (format == ExportFormat.CSV) {
+            return toCsvLine(user).getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(UserResponse.fromEntity(user));
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user " + user.getId(), e);
+        }
+    }
+
+    private static String toCsvLine(User user) {
+        return Stream.of(
+                        user.getId(),
+                        user.getFirstName(),
+                        user.getLastName(),
+                        user.getEmail(),
+                        user.getPhone(),
+                        user.getAddress(),
+                        user.getCity(),
+                        user.getCountry(),
+                        user.getPostalCode(),
+                        user.getRole(),
+                        user.getStatus(),
+                        user.getBio(),
+                        user.getAvatarUrl(),
+                        user.getCreatedAt(),
+                        user.getUpdatedAt(),
+                        user.getLastLoginAt())
+                .map(UserExportServiceImpl::toCsvField)
+                .collect(Collectors.joining(",", "", "\n"));
+    }
+
+    private static String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof LocalDateTime timestamp) {
+            return TIMESTAMP_FORMAT.format(timestamp);
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static Specification<User> toSpecification(UserExportFilter filter) {
+        Specification<User> specification = UserSpecifications.all();
+        if (filter == null) {
+            return specification;
+        }
+        if (filter.getRole() != null) {
+            specification = specification.and(UserSpecifications.hasRole(filter.getRole()));
+        }
+        if (filter.getStatus() != null) {
+            specification = specification.and(UserSpecifications.hasStatus(filter.getStatus()));
+        }
+        if (filter.getCountry() != null) {
+            specification = specification.and(UserSpecifications.hasCountry(filter.getCountry()));
+        }
+        return specification;
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
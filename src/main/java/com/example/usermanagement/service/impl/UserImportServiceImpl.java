@@ -0,0 +1,391 @@
+package com.example.usermanagement.service.impl;
+
+import com.example.usermanagement.dto.BatchUserResponse;
+import com.example.usermanagement.dto.ExportFormat;
+import com.example.usermanagement.dto.ImportJobStatus;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserRequest;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.exception.DuplicateImportJobException;
+import com.example.usermanagement.exception.ImportJobNotFoundException;
+import com.example.usermanagement.exception.InvalidImportFileException;
+import com.example.usermanagement.kafka.UserEventProducer;
+import com.example.usermanagement.repository.UserRepository;
+import com.example.usermanagement.service.UserBatchService;
+import com.example.usermanagement.service.UserImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Map<String, BiConsumer<UserRequest, String>> CSV_COLUMNS = Map.ofEntries(
+            Map.entry("firstname", UserRequest::setFirstName),
+            Map.entry("lastname", UserRequest::setLastName),
+            Map.entry("email", UserRequest::setEmail),
+            Map.entry("phone", UserRequest::setPhone),
+            Map.entry("address", UserRequest::setAddress),
+            Map.entry("city", UserRequest::setCity),
+            Map.entry("country", UserRequest::setCountry),
+            Map.entry("postalcode", UserRequest::setPostalCode),
+            Map.entry("role", (request, value) -> request.setRole(User.UserRole.valueOf(value.toUpperCase(Locale.ROOT)))),
+            Map.entry("status", (request, value) -> request.setStatus(User.UserStatus.valueOf(value.toUpperCase(Locale.ROOT)))),
+            Map.entry("bio", UserRequest::setBio),
+            Map.entry("avatarurl", UserRequest::setAvatarUrl)
+    );
+
+    private final UserRepository userRepository;
+    private final UserBatchService userBatchService;
+    private final UserEventProducer userEventProducer;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader ndjsonReader;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+
+    @Value("${app.import.retained-jobs:100}")
+    private int retainedJobs;
+
+    @Value("${app.import.max-record-length:8192}")
+    private int maxRecordLength;
+
+    public UserImportServiceImpl(
+            UserRepository userRepository,
+            UserBatchService userBatchService,
+            UserEventProducer userEventProducer,
+            Validator validator,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        this.userRepository = userRepository;
+        this.userBatchService = userBatchService;
+        this.userEventProducer = userEventProducer;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Exported NDJSON carries read-only fields such as id and createdAt.
+        this.ndjsonReader = objectMapper.readerFor(UserRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public ImportJobStatus importUsers(String jobId, ExportFormat format, InputStream inputStream) throws IOException {
+        ImportJob job = new ImportJob(jobId != null ? jobId : UUID.randomUUID().toString(), format);
+        if (jobs.putIfAbsent(job.jobId, job) != null) {
+            throw new DuplicateImportJobException(job.jobId);
+        }
+        evictFinishedJobs();
+        log.info("Starting import job {} ({})", job.jobId, format);
+
+        // Only one chunk is held at a time; the request body is not read further until it
+        // has been written, so memory stays bounded and a slow database throttles the client.
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            RowSource rows = format == ExportFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                job.rowsRead++;
+                List<String> errors = row.request != null ? validate(row.request) : row.errors;
+                if (errors.isEmpty()) {
+                    chunk.add(row);
+                } else {
+                    job.reject(row, errors, maxReportedRejections);
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(job, chunk);
+                }
+            }
+            writeChunk(job, chunk);
+            job.finish(ImportJobStatus.State.COMPLETED, null);
+        } catch (IOException | RuntimeException e) {
+            job.finish(ImportJobStatus.State.FAILED, e.getMessage());
+            log.error("Import job {} failed after {} rows", job.jobId, job.rowsRead, e);
+            throw e;
+        }
+
+        log.info("Import job {} completed: {} rows read, {} created, {} rejected",
+                job.jobId, job.rowsRead, job.created, job.rejected);
+        return job.snapshot();
+    }
+
+    @Override
+    public ImportJobStatus getImportJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+        return job.snapshot();
+    }
+
+    @Override
+    public List<ImportJobStatus> getImportJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+                .map(ImportJob::snapshot)
+                .collect(Collectors.toList());
+    }
+
+    private void writeChunk(ImportJob job, List<ImportRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (userRepository.supportsCopyImport()) {
+            copyChunk(job, chunk);
+        } else {
+            batchChunk(job, chunk);
+        }
+        job.chunksCompleted++;
+        chunk.clear();
+    }
+
+    private void copyChunk(ImportJob job, List<ImportRow> chunk) {
+        List<User> inserted = transactionTemplate.execute(status -> {
+            List<User> users = userRepository.copyInsertIgnoringDuplicates(chunk.stream()
+                    .map(row -> row.request.toEntity())
+                    .collect(Collectors.toList()));
+            userEventProducer.sendUserEvents(users.stream()
+                    .map(user -> UserEventDTO.fromEntity(user, UserEventDTO.EventType.USER_CREATED))
+                    .collect(Collectors.toList()));
+            return users;
+        });
+
+        Set<String> insertedEmails = new HashSet<>();
+        inserted.forEach(user -> insertedEmails.add(user.getEmail()));
+        for (ImportRow row : chunk) {
+            // remove() so a second row with the same email counts as a duplicate
+            if (insertedEmails.remove(row.request.getEmail())) {
+                job.created++;
+            } else {
+                job.reject(row, List.of("User with email already exists: " + row.request.getEmail()),
+                        maxReportedRejections);
+            }
+        }
+    }
+
+    private void batchChunk(ImportJob job, List<ImportRow> chunk) {
+        BatchUserResponse response = userBatchService.createUsers(chunk.stream()
+                .map(row -> row.request)
+                .collect(Collectors.toList()));
+        for (BatchUserResponse.ItemResult result : response.getResults()) {
+            if (result.getStatus() == BatchUserResponse.ItemStatus.CREATED) {
+                job.created++;
+            } else {
+                job.reject(chunk.get(result.getIndex()), result.getErrors(), maxReportedRejections);
+            }
+        }
+    }
+
+    private List<String> validate(UserRequest request) {
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader, maxRecordLength);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return () -> null;
+        }
+        List<BiConsumer<UserRequest, String>> setters = header.stream()
+                .map(column -> CSV_COLUMNS.get(column.trim().toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toList());
+
+        long[] rowNumber = {1};
+        return () -> {
+            List<String> record = csv.readRecord();
+            while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+                rowNumber[0]++;
+                record = csv.readRecord();
+            }
+            if (record == null) {
+                return null;
+            }
+            rowNumber[0]++;
+            UserRequest request = new UserRequest();
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < record.size() && i < setters.size(); i++) {
+                String value = record.get(i);
+                if (setters.get(i) == null || value.isEmpty()) {
+                    continue;
+                }
+                try {
+                    setters.get(i).accept(request, value);
+                } catch (IllegalArgumentException e) {
+                    errors.add(header.get(i).trim() + ": invalid value '" + value + "'");
+                }
+            }
+            return errors.isEmpty()
+                    ? new ImportRow(rowNumber[0], request, List.of())
+                    : new ImportRow(rowNumber[0], null, errors, request.getEmail());
+        };
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        long[] rowNumber = {0};
+        return () -> {
+            String line;
+            do {
+                line = readLine(reader);
+                if (line == null) {
+                    return null;
+                }
+                rowNumber[0]++;
+            } while (line.isBlank());
+
+            try {
+                UserRequest request = ndjsonReader.readValue(line);
+                return request != null
+                        ? new ImportRow(rowNumber[0], request, List.of())
+                        : new ImportRow(rowNumber[0], null, List.of("Expected a JSON object"), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(rowNumber[0], null, List.of("Malformed JSON: " + e.getOriginalMessage()), null);
+            }
+        };
+    }
+
+    // BufferedReader.readLine() would buffer a line of any length.
+    private String readLine(BufferedReader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() == maxRecordLength) {
+                throw new InvalidImportFileException("NDJSON line exceeds " + maxRecordLength + " characters");
+            }
+            line.append((char) c);
+            c = reader.read();
+        }
+        int end = line.length();
+        return end > 0 && line.charAt(end - 1) == '\r' ? line.substring(0, end - 1) : line.toString();
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() <= retainedJobs) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.state != ImportJobStatus.State.RUNNING)
+                .sorted(Comparator.comparing(job -> job.startedAt))
+                .limit(jobs.size() - retainedJobs)
+                .forEach(job -> jobs.remove(job.jobId));
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        ImportRow next() throws IOException;
+    }
+
+    private static final class ImportRow {
+        private final long row;
+        private final UserRequest request;
+        private final List<String> errors;
+        private final String email;
+
+        private ImportRow(long row, UserRequest request, List<String> errors) {
+            this(row, request, errors, request != null ? request.getEmail() : null);
+        }
+
+        private ImportRow(long row, UserRequest request, List<String> errors, String email) {
+            this.row = row;
+            this.request = request;
+            this.errors = errors;
+            this.email = email;
+        }
+    }
+
+    // Written only by the importing thread; volatile so status polls see progress.
+    private static final class ImportJob {
+        private final String jobId;
+        private final ExportFormat format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<ImportJobStatus.Rejection> rejections = new ArrayList<>();
+        private volatile ImportJobStatus.State state = ImportJobStatus.State.RUNNING;
+        private volatile long rowsRead;
+        private volatile int chunksCompleted;
+        private volatile long created;
+        private volatile long rejected;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String jobId, ExportFormat format) {
+            this.jobId = jobId;
+            this.format = format;
+        }
+
+        private void reject(ImportRow row, List<String> errors, int maxReported) {
+            rejected++;
+            synchronized (rejections) {
+                if (rejections.size() < maxReported) {
+                    rejections.add(ImportJobStatus.Rejection.builder()
+                            .row(row.row)
+                            .email(row.email)
+                            .errors(errors)
+                            .build());
+                }
+            }
+        }
+
+        private void finish(ImportJobStatus.State finalState, String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        private ImportJobStatus snapshot() {
+            List<ImportJobStatus.Rejection> reported;
+            synchronized (rejections) {
+                reported = List.copyOf(rejections);
+            }
+            return ImportJobStatus.builder()
+                    .jobId(jobId)
+                    .state(state)
+                    .format(format)
+                    .rowsRead(rowsRead)
+                    .chunksCompleted(chunksCompleted)
+                    .created(created)
+                    .rejected(rejected)
+                    .error(error)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .rejections(reported)
+                    .rejectionsTruncated(rejected > reported.size())
+                    .build();
+        }
+    }
+}
@@ -1,23 +1,59 @@
 package com.example.usermanagement.service.impl;
 
+import com.example.usermanagement.config.CacheConfig;
 import com.example.usermanagement.dto.PageResponse;
+import com.example.usermanagement.dto.CountryCount;
+import com.example.usermanagement.dto.CreatedDayCount;
+import com.example.usermanagement.dto.PageTotalMode;
+import com.example.usermanagement.dto.RoleStatusCount;
+import com.example.usermanagement.dto.StatsBucket;
 import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.dto.UserPatchRequest;
 import com.example.usermanagement.dto.UserRequest;
 import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.dto.UserStatsResponse;
+import com.example.usermanagement.dto.UserSuggestion;
 import com.example.usermanagement.entity.User;
 import com.example.usermanagement.exception.DuplicateEmailException;
 import com.example.usermanagement.exception.UserNotFoundException;
 import com.example.usermanagement.kafka.UserEventProducer;
 import com.example.usermanagement.repository.UserRepository;
+import com.example.usermanagement.repository.UserSpecifications;
+import com.example.usermanagement.service.UserAutocompleteIndex;
+import com.example.usermanagement.service.UserCounters;
 import com.example.usermanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,8 +62,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
     private final UserRepository userRepository;
     private final UserEventProducer userEventProducer;
+    private final CacheManager cacheManager;
+    private final UserAutocompleteIndex userAutocompleteIndex;
+    private final UserCounters userCounters;
 
     @Override
     public UserResponse createUser(UserRequest request) {
@@ -37,34 +78,19 @@ public class UserServiceImpl implements UserService {
             throw new DuplicateEmailException(request.getEmail());
         }
 
-        User user = User.builder()
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .email(request.getEmail())
-                .phone(request.getPhone())
-                .address(request.getAddress())
-                .city(request.getCity())
-                .country(request.getCountry())
-                .postalCode(request.getPostalCode())
-                .role(request.getRole())
-                .status(request.getStatus() != null ? request.getStatus() : User.UserStatus.ACTIVE)
-                .bio(request.getBio())
-                .avatarUrl(request.getAvatarUrl())
-                .build();
+        User user = request.toEntity();
 
         User savedUser = userRepository.save(user);
         log.info("User created successfully with id: {}", savedUser.getId());
 
-        userEventProducer.sendUserEvent(createUserEvent(
-                savedUser,
-                UserEventDTO.EventType.USER_CREATED.name()
-        ));
+        userEventProducer.sendUserEvent(UserEventDTO.fromEntity(savedUser, UserEventDTO.EventType.USER_CREATED));
 
         return UserResponse.fromEntity(savedUser);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     public UserResponse getUserById(Long id) {
         log.info("Fetching user with id: {}", id);
         User user = userRepository.findById(id)
@@ -74,14 +100,21 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<UserResponse> getAllUsers(Pageable pageable) {
+    public PageResponse<UserResponse> getAllUsers(Pageable pageable, PageTotalMode totalMode, Set<UserField> fields) {
         log.info("Fetching all users with pagination: page={}, size={}",
                 pageable.getPageNumber(), pageable.getPageSize());
-        Page<User> userPage = userRepository.findAll(pageable);
-        return buildPageResponse(userPage);
+        return findProjectedPage(UserSpecifications.all(), pageable, totalMode, fields, "all", userRepository::count);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getAllUsers(String after, int size, Sort sort) {
+        log.info("Fetching all users with cursor pagination: size={}", size);
+        return buildWindowResponse(UserSpecifications.all(), after, size, sort);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     public UserResponse updateUser(Long id, UserRequest request) {
         log.info("Updating user with id: {}", id);
 
@@ -93,6 +126,7 @@ public class UserServiceImpl implements UserService {
             throw new DuplicateEmailException(request.getEmail());
         }
 
+        Map<UserField, Object> before = UserFieldChange.snapshot(user);
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setEmail(request.getEmail());
@@ -108,18 +142,65 @@ public class UserServiceImpl implements UserService {
         user.setBio(request.getBio());
         user.setAvatarUrl(request.getAvatarUrl());
 
-        User updatedUser = userRepository.save(user);
+        // Flushed so the event and response carry the version this update produced.
+        User updatedUser = userRepository.saveAndFlush(user);
         log.info("User updated successfully with id: {}", updatedUser.getId());
 
-        userEventProducer.sendUserEvent(createUserEvent(
-                updatedUser,
-                UserEventDTO.EventType.USER_UPDATED.name()
-        ));
+        List<UserFieldChange> changes = UserFieldChange.between(before, updatedUser);
+        if (!changes.isEmpty()) {
+            userEventProducer.sendUserEvent(UserEventDTO.updated(updatedUser, changes));
+        }
 
         return UserResponse.fromEntity(updatedUser);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    public UserResponse patchUser(Long id, UserPatchRequest request) {
+        log.info("Patching user with id: {}", id);
+
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+
+        if (request.getEmail() != null && !user.getEmail().equals(request.getEmail()) &&
+                userRepository.existsByEmail(request.getEmail())) {
+            throw new DuplicateEmailException(request.getEmail());
+        }
+
+        Map<UserField, Object> before = UserFieldChange.snapshot(user);
+        // Non-short-circuit OR so every field is applied.
+        boolean changed = applyIfChanged(request.getFirstName(), user::getFirstName, user::setFirstName)
+                | applyIfChanged(request.getLastName(), user::getLastName, user::setLastName)
+                | applyIfChanged(request.getEmail(), user::getEmail, user::setEmail)
+                | applyIfChanged(request.getPhone(), user::getPhone, user::setPhone)
+                | applyIfChanged(request.getAddress(), user::getAddress, user::setAddress)
+                | applyIfChanged(request.getCity(), user::getCity, user::setCity)
+                | applyIfChanged(request.getCountry(), user::getCountry, user::setCountry)
+                | applyIfChanged(request.getPostalCode(), user::getPostalCode, user::setPostalCode)
+                | applyIfChanged(request.getRole(), user::getRole, user::setRole)
+                | applyIfChanged(request.getStatus(), user::getStatus, user::setStatus)
+                | applyIfChanged(request.getBio(), user::getBio, user::setBio)
+                | applyIfChanged(request.getAvatarUrl(), user::getAvatarUrl, user::setAvatarUrl);
+
+        if (!changed) {
+            // The entity is not dirty, so nothing is flushed and the version stays as it is.
+            log.info("No changes for user with id: {}, skipping update", id);
+            return UserResponse.fromEntity(user);
+        }
+
+        // @DynamicUpdate limits the UPDATE to the columns changed above; flushed so the event
+        // and response carry the new version.
+        User patchedUser = userRepository.saveAndFlush(user);
+        log.info("User patched successfully with id: {}", patchedUser.getId());
+
+        userEventProducer.sendUserEvent(
+                UserEventDTO.updated(patchedUser, UserFieldChange.between(before, patchedUser)));
+
+        return UserResponse.fromEntity(patchedUser);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {}", id);
         User user = userRepository.findById(id)
@@ -128,34 +209,67 @@ public class UserServiceImpl implements UserService {
         userRepository.delete(user);
         log.info("User deleted successfully with id: {}", id);
 
-        userEventProducer.sendUserEvent(createUserEvent(
-                user,
-                UserEventDTO.EventType.USER_DELETED.name()
-        ));
+        userEventProducer.sendUserEvent(UserEventDTO.fromEntity(user, UserEventDTO.EventType.USER_DELETED));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<UserResponse> searchUsers(String searchTerm, Pageable pageable) {
+    public PageResponse<UserResponse> searchUsers(String searchTerm, Pageable pageable, PageTotalMode totalMode) {
         log.info("Searching users with term: {}", searchTerm);
-        Page<User> userPage = userRepository.searchUsers(searchTerm, pageable);
-        return buildPageResponse(userPage);
+        if (totalMode == PageTotalMode.EXACT) {
+            Page<User> userPage = userRepository.searchUsers(searchTerm, pageable);
+            return buildPageResponse(userPage.map(UserResponse::fromEntity));
+        }
+        Slice<User> userSlice = userRepository.searchUsersAsSlice(searchTerm, pageable);
+        return buildPageResponse(userSlice.map(UserResponse::fromEntity), totalMode, "search:" + searchTerm.toLowerCase(Locale.ROOT),
+                () -> userRepository.count(UserSpecifications.matchesSearchTerm(searchTerm)));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<UserResponse> getUsersByRole(User.UserRole role, Pageable pageable) {
+    public PageResponse<UserResponse> searchUsers(String searchTerm, String after, int size, Sort sort) {
+        log.info("Searching users with term: {} using cursor pagination", searchTerm);
+        return buildWindowResponse(UserSpecifications.matchesSearchTerm(searchTerm), after, size, sort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getUsersByRole(
+            User.UserRole role,
+            Pageable pageable,
+            PageTotalMode totalMode,
+            Set<UserField> fields
+    ) {
         log.info("Fetching users with role: {}", role);
-        Page<User> userPage = userRepository.findByRole(role, pageable);
-        return buildPageResponse(userPage);
+        return findProjectedPage(UserSpecifications.hasRole(role), pageable, totalMode, fields,
+                "role:" + role, () -> userRepository.countByRole(role));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getUsersByRole(User.UserRole role, String after, int size) {
+        log.info("Fetching users with role: {} using cursor pagination", role);
+        return buildWindowResponse(UserSpecifications.hasRole(role), after, size, Sort.by("id"));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<UserResponse> getUsersByStatus(User.UserStatus status, Pageable pageable) {
+    public PageResponse<UserResponse> getUsersByStatus(
+            User.UserStatus status,
+            Pageable pageable,
+            PageTotalMode totalMode,
+            Set<UserField> fields
+    ) {
         log.info("Fetching users with status: {}", status);
-        Page<User> userPage = userRepository.findByStatus(status, pageable);
-        return buildPageResponse(userPage);
+        return findProjectedPage(UserSpecifications.hasStatus(status), pageable, totalMode, fields,
+                "status:" + status, () -> userRepository.countByStatus(status));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getUsersByStatus(User.UserStatus status, String after, int size) {
+        log.info("Fetching users with status: {} using cursor pagination", status);
+        return buildWindowResponse(UserSpecifications.hasStatus(status), after, size, Sort.by("id"));
     }
 
     @Override
@@ -163,73 +277,256 @@ public class UserServiceImpl implements UserService {
     public PageResponse<UserResponse> getUsersByRoleAndStatus(
             User.UserRole role,
             User.UserStatus status,
-            Pageable pageable
+            Pageable pageable,
+            Set<UserField> fields
     ) {
         log.info("Fetching users with role: {} and status: {}", role, status);
-        Page<User> userPage = userRepository.findByRoleAndStatus(role, status, pageable);
-        return buildPageResponse(userPage);
+        Specification<User> specification = UserSpecifications.hasRole(role).and(UserSpecifications.hasStatus(status));
+        return buildPageResponse(userRepository.findResponses(specification, pageable, fields));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponse> getUsersByCity(String city) {
+    public List<UserResponse> getUsersByCity(String city, Set<UserField> fields) {
         log.info("Fetching users from city: {}", city);
-        return userRepository.findByCity(city)
-                .stream()
-                .map(UserResponse::fromEntity)
-                .collect(Collectors.toList());
+        return userRepository.findResponses(UserSpecifications.hasCity(city), Sort.by("id"), fields);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponse> getUsersByCountry(String country) {
+    public List<UserResponse> getUsersByCountry(String country, Set<UserField> fields) {
         log.info("Fetching users from country: {}", country);
-        return userRepository.findByCountry(country)
-                .stream()
-                .map(UserResponse::fromEntity)
-                .collect(Collectors.toList());
+        return userRepository.findResponses(UserSpecifications.hasCountry(country), Sort.by("id"), fields);
     }
 
+    // Served from the live counters once seeded; the query is only a startup fallback.
+    // No transaction, so a counter read never takes a connection from the pool.
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long countUsersByStatus(User.UserStatus status) {
+        if (userCounters.isSeeded()) {
+            return userCounters.countByStatus(status);
+        }
         return userRepository.countByStatus(status);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long countUsersByRole(User.UserRole role) {
+        if (userCounters.isSeeded()) {
+            return userCounters.countByRole(role);
+        }
         return userRepository.countByRole(role);
     }
 
-    private PageResponse<UserResponse> buildPageResponse(Page<User> userPage) {
-        List<UserResponse> userResponses = userPage.getContent()
-                .stream()
-                .map(UserResponse::fromEntity)
-                .collect(Collectors.toList());
+    // Role and status figures come from the live counters on every call. Only the country
+    // and creation-date breakdowns still need queries; those are cached, outside a
+    // transaction so a cache hit does not take a connection from the pool.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserStatsResponse getUserStats(boolean includeCountries, StatsBucket createdBucket) {
+        log.info("Fetching user statistics: byCountry={}, createdBucket={}", includeCountries, createdBucket);
+        UserStatsResponse.UserStatsResponseBuilder stats = roleAndStatusStats();
+        if (!includeCountries && createdBucket == null) {
+            return stats.build();
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.USER_STATS_CACHE);
+        String key = includeCountries + ":" + createdBucket;
+        UserStatsResponse breakdowns = cache != null
+                ? cache.get(key, () -> computeBreakdowns(includeCountries, createdBucket))
+                : computeBreakdowns(includeCountries, createdBucket);
+
+        return stats.byCountry(breakdowns.getByCountry())
+                .createdBucket(breakdowns.getCreatedBucket())
+                .createdOverTime(breakdowns.getCreatedOverTime())
+                .generatedAt(breakdowns.getGeneratedAt())
+                .stalenessSeconds(Duration.between(breakdowns.getGeneratedAt(), LocalDateTime.now()).toSeconds())
+                .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<UserSuggestion> autocomplete(String prefix, int limit) {
+        return userAutocompleteIndex.suggest(prefix, Math.min(limit, MAX_AUTOCOMPLETE_LIMIT));
+    }
+
+    private UserStatsResponse.UserStatsResponseBuilder roleAndStatusStats() {
+        Map<User.UserRole, Map<User.UserStatus, Long>> byRoleAndStatus = new EnumMap<>(User.UserRole.class);
+        for (User.UserRole role : User.UserRole.values()) {
+            Map<User.UserStatus, Long> statuses = new EnumMap<>(User.UserStatus.class);
+            for (User.UserStatus status : User.UserStatus.values()) {
+                statuses.put(status, userCounters.isSeeded() ? userCounters.count(role, status) : 0L);
+            }
+            byRoleAndStatus.put(role, statuses);
+        }
+        if (!userCounters.isSeeded()) {
+            for (RoleStatusCount row : userRepository.countGroupedByRoleAndStatus()) {
+                byRoleAndStatus.get(row.getRole()).put(row.getStatus(), row.getCount());
+            }
+        }
+
+        long total = 0;
+        Map<User.UserRole, Long> byRole = new EnumMap<>(User.UserRole.class);
+        Map<User.UserStatus, Long> byStatus = new EnumMap<>(User.UserStatus.class);
+        for (Map.Entry<User.UserRole, Map<User.UserStatus, Long>> row : byRoleAndStatus.entrySet()) {
+            for (Map.Entry<User.UserStatus, Long> cell : row.getValue().entrySet()) {
+                byRole.merge(row.getKey(), cell.getValue(), Long::sum);
+                byStatus.merge(cell.getKey(), cell.getValue(), Long::sum);
+                total += cell.getValue();
+            }
+        }
+
+        return UserStatsResponse.builder()
+                .totalUsers(total)
+                .byRoleAndStatus(byRoleAndStatus)
+                .byRole(byRole)
+                .byStatus(byStatus)
+                .activeUsers(byStatus.get(User.UserStatus.ACTIVE))
+                .inactiveUsers(byStatus.get(User.UserStatus.INACTIVE))
+                .suspendedUsers(byStatus.get(User.UserStatus.SUSPENDED))
+                .pendingUsers(byStatus.get(User.UserStatus.PENDING))
+                .admins(byRole.get(User.UserRole.ADMIN))
+                .managers(byRole.get(User.UserRole.MANAGER))
+                .regularUsers(byRole.get(User.UserRole.USER))
+                .generatedAt(LocalDateTime.now());
+    }
+
+    private UserStatsResponse computeBreakdowns(boolean includeCountries, StatsBucket createdBucket) {
+        UserStatsResponse.UserStatsResponseBuilder stats = UserStatsResponse.builder()
+                .generatedAt(LocalDateTime.now());
+
+        if (includeCountries) {
+            Map<String, Long> byCountry = new TreeMap<>();
+            for (CountryCount row : userRepository.countGroupedByCountry()) {
+                byCountry.merge(row.getCountry() != null ? row.getCountry() : "unknown", row.getCount(), Long::sum);
+            }
+            stats.byCountry(byCountry);
+        }
+
+        if (createdBucket != null) {
+            // The database groups by day; weeks and months are rolled up from those rows.
+            Map<LocalDate, Long> buckets = new TreeMap<>();
+            for (CreatedDayCount row : userRepository.countGroupedByCreatedDay()) {
+                LocalDate day = LocalDate.of(row.getYear(), row.getMonth(), row.getDay());
+                buckets.merge(createdBucket.bucketStart(day), row.getCount(), Long::sum);
+            }
+            stats.createdBucket(createdBucket)
+                    .createdOverTime(buckets.entrySet().stream()
+                            .map(entry -> new UserStatsResponse.CreatedBucketCount(entry.getKey(), entry.getValue()))
+                            .collect(Collectors.toList()));
+        }
+
+        return stats.build();
+    }
+
+    private static <T> boolean applyIfChanged(T value, Supplier<T> getter, Consumer<T> setter) {
+        if (value == null || Objects.equals(value, getter.get())) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    // List and filter pages are projected straight into UserResponse instead of loading entities.
+    private PageResponse<UserResponse> findProjectedPage(
+            Specification<User> specification,
+            Pageable pageable,
+            PageTotalMode totalMode,
+            Set<UserField> fields,
+            String countKey,
+            LongSupplier counter
+    ) {
+        if (totalMode == PageTotalMode.EXACT) {
+            return buildPageResponse(userRepository.findResponses(specification, pageable, fields));
+        }
+        return buildPageResponse(userRepository.findResponseSlice(specification, pageable, fields),
+                totalMode, countKey, counter);
+    }
+
+    static PageResponse<UserResponse> buildPageResponse(Page<UserResponse> userPage) {
+        return buildPageResponse(userPage, userPage.getTotalElements(), false);
+    }
+
+    private PageResponse<UserResponse> buildPageResponse(
+            Slice<UserResponse> userSlice,
+            PageTotalMode totalMode,
+            String countKey,
+            LongSupplier counter
+    ) {
+        if (totalMode == PageTotalMode.APPROXIMATE) {
+            return buildPageResponse(userSlice, approximateCount(countKey, counter), true);
+        }
+        return buildPageResponse(userSlice, null, false);
+    }
+
+    // Package-private and static so UserResponseBenchmark can measure it without a database.
+    static PageResponse<UserResponse> buildPageResponse(
+            Slice<UserResponse> userSlice,
+            Long totalElements,
+            boolean approximateTotal
+    ) {
+        List<UserResponse> userResponses = userSlice.getContent();
+
+        String nextCursor = null;
+        if (userSlice.hasNext() && userSlice.hasContent() && UserCursorCodec.supports(userSlice.getSort())) {
+            nextCursor = UserCursorCodec.encode(userResponses.get(userResponses.size() - 1), userSlice.getSort());
+        }
+
+        Integer totalPages = null;
+        if (totalElements != null) {
+            totalPages = userSlice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / userSlice.getSize());
+        }
 
         return PageResponse.<UserResponse>builder()
                 .content(userResponses)
-                .pageNumber(userPage.getNumber())
-                .pageSize(userPage.getSize())
-                .totalElements(userPage.getTotalElements())
-                .totalPages(userPage.getTotalPages())
-                .last(userPage.isLast())
-                .first(userPage.isFirst())
-                .empty(userPage.isEmpty())
+                .pageNumber(userSlice.getNumber())
+                .pageSize(userSlice.getSize())
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .approximateTotal(approximateTotal)
+                .last(userSlice.isLast())
+                .first(userSlice.isFirst())
+                .empty(userSlice.isEmpty())
+                .nextCursor(nextCursor)
                 .build();
     }
 
-    private UserEventDTO createUserEvent(User user, String eventType) {
-        return UserEventDTO.builder()
-                .eventType(eventType)
-                .userId(user.getId())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .role(user.getRole())
-                .status(user.getStatus())
-                .performedBy("system")
+    private long approximateCount(String countKey, LongSupplier counter) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_COUNTS_CACHE);
+        if (cache == null) {
+            return counter.getAsLong();
+        }
+        Long count = cache.get(countKey, counter::getAsLong);
+        return count != null ? count : counter.getAsLong();
+    }
+
+    private PageResponse<UserResponse> buildWindowResponse(
+            Specification<User> specification,
+            String after,
+            int size,
+            Sort sort
+    ) {
+        Sort keysetSort = UserCursorCodec.keysetSort(sort);
+        ScrollPosition position = UserCursorCodec.decode(after, keysetSort);
+        Window<User> window = userRepository.scrollUsers(specification, keysetSort, size, position);
+
+        List<User> content = window.getContent();
+        List<UserResponse> userResponses = content.stream()
+                .map(UserResponse::fromEntity)
+                .collect(Collectors.toList());
+
+        String nextCursor = window.hasNext() && !content.isEmpty()
+                ? UserCursorCodec.encode(content.get(content.size() - 1), keysetSort)
+                : null;
+
+        return PageResponse.<UserResponse>builder()
+                .content(userResponses)
+                .pageSize(size)
+                .last(!window.hasNext())
+                .first(position.isInitial())
+                .empty(content.isEmpty())
+                .nextCursor(nextCursor)
                 .build();
     }
 }
@@ -0,0 +1,9 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Newline separator keeps a search term from matching across two fields,
+-- so results stay identical to the per-column LIKE fallback.
+ALTER TABLE users
+    ADD COLUMN search_text VARCHAR(400)
+        GENERATED ALWAYS AS (LOWER(first_name || E'\n' || last_name || E'\n' || email)) STORED;
+
+CREATE INDEX idx_users_search_text_trgm ON users USING GIN (search_text gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Hibernate reserves ids in blocks of 50 (pooled optimizer), which lets inserts be
+-- JDBC-batched; IDENTITY generation forces one round trip per row.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
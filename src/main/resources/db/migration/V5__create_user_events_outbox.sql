@@ -0,0 +1,15 @@
+-- Events are written here in the same transaction as the user change and relayed
+-- to Kafka afterwards, so a rollback never publishes and a slow broker never holds
+-- a request transaction open. Rows are deleted once acked; V7 adds relay_seq,
+-- which gives the write order they are drained in.
+CREATE SEQUENCE user_events_outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE user_events_outbox (
+    id BIGINT PRIMARY KEY DEFAULT nextval('user_events_outbox_id_seq'),
+    user_id BIGINT NOT NULL,
+    event_type VARCHAR(40) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER SEQUENCE user_events_outbox_id_seq OWNED BY user_events_outbox.id;
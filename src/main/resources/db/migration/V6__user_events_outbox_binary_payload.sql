@@ -0,0 +1,5 @@
+-- Outbox rows now hold the encoded wire bytes (JSON or the compact binary format)
+-- so the relay forwards them untouched. Rows still pending from before the upgrade
+-- are JSON and keep being readable by consumers.
+ALTER TABLE user_events_outbox
+    ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
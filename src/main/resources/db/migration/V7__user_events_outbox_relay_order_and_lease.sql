@@ -0,0 +1,30 @@
+-- Outbox ids come from a pooled sequence (INCREMENT BY 50): every instance hands out its
+-- own block, so id order is not write order once more than one instance writes. relay_seq
+-- is drawn one value at a time on insert and is only used to order the relay's drain.
+CREATE SEQUENCE user_events_outbox_relay_seq INCREMENT BY 1;
+
+ALTER TABLE user_events_outbox ADD COLUMN relay_seq BIGINT;
+
+UPDATE user_events_outbox o
+SET relay_seq = pending.position
+FROM (SELECT id, row_number() OVER (ORDER BY id) AS position FROM user_events_outbox) pending
+WHERE o.id = pending.id;
+
+SELECT setval('user_events_outbox_relay_seq', COALESCE(MAX(relay_seq), 0) + 1, false) FROM user_events_outbox;
+
+ALTER TABLE user_events_outbox
+    ALTER COLUMN relay_seq SET DEFAULT nextval('user_events_outbox_relay_seq'),
+    ALTER COLUMN relay_seq SET NOT NULL;
+
+ALTER SEQUENCE user_events_outbox_relay_seq OWNED BY user_events_outbox.relay_seq;
+
+CREATE INDEX idx_user_events_outbox_relay_seq ON user_events_outbox (relay_seq);
+
+-- One instance relays at a time. The lease outlives the short claim transaction, so the
+-- relay waits for broker acks without holding a connection, and it expires on its own
+-- if the owner dies mid-batch.
+CREATE TABLE user_events_outbox_relay_lease (
+    id SMALLINT PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,165 @@
+package com.example.usermanagement;
+
+import com.example.usermanagement.config.ConnectionPermitDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application twice against the same PostgreSQL container, once on Tomcat's
+ * platform thread pool and once on virtual threads, and drives both with the same
+ * concurrent paging load. Prints throughput and latency percentiles for each mode.
+ * Run with {@code ./gradlew benchmark --tests VirtualThreadLoadBenchmarkTest -Dbenchmark.concurrency=500}.
+ */
+@Tag("benchmark")
+@Testcontainers
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 50_000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int TOMCAT_THREADS = Integer.getInteger("benchmark.tomcat-threads", 50);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void virtualThreads_ServeSameLoadWithoutStampedingThePool() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        platform.print("platform threads");
+        virtual.print("virtual threads");
+        assertThat(platform.errors).isZero();
+        assertThat(virtual.errors).isZero();
+        assertThat(virtual.rejectedPermits).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(UserManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.kafka.admin.auto-create=false",
+                        "app.events.transport=in-process",
+                        "app.instance-id=virtual-thread-benchmark",
+                        "logging.level.com.example.usermanagement=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run()) {
+            seedOnce(context.getBean(DataSource.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            runLoad(port, Math.max(1, REQUESTS / 10));
+            Result result = runLoad(port, REQUESTS);
+
+            DataSource dataSource = context.getBean(DataSource.class);
+            if (dataSource.isWrapperFor(ConnectionPermitDataSource.class)) {
+                result.rejectedPermits = dataSource.unwrap(ConnectionPermitDataSource.class).getRejected();
+            }
+            return result;
+        }
+    }
+
+    private void seedOnce(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, role, status) " +
+                "SELECT 'F' || g, 'L' || g, 'user' || g || '@example.com', 'USER', 'ACTIVE' " +
+                "FROM generate_series(1, ?) AS g", USERS);
+        jdbcTemplate.execute("ANALYZE users");
+    }
+
+    private Result runLoad(int port, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        int pages = Math.max(1, USERS / 20);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inFlight.acquire();
+                executor.submit(() -> {
+                    try {
+                        URI uri = URI.create("http://localhost:" + port + "/api/v1/users?size=20&withTotal=false&page="
+                                + ThreadLocalRandom.current().nextInt(pages));
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies[index] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new Result(latencies, System.nanoTime() - start, errors.get());
+    }
+
+    private static final class Result {
+
+        private final long[] latencies;
+        private final long elapsedNanos;
+        private final int errors;
+        private long rejectedPermits;
+
+        private Result(long[] latencies, long elapsedNanos, int errors) {
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+            this.elapsedNanos = elapsedNanos;
+            this.errors = errors;
+        }
+
+        private void print(String label) {
+            System.out.printf("%-17s %d requests, concurrency %d: %.0f req/s, p50 %.2f ms, p99 %.2f ms, " +
+                            "max %.2f ms, errors %d, rejected permits %d%n",
+                    label, latencies.length, CONCURRENCY, latencies.length / (elapsedNanos / 1e9),
+                    percentile(0.5) / 1e6, percentile(0.99) / 1e6, percentile(1.0) / 1e6, errors, rejectedPermits);
+        }
+
+        private long percentile(double quantile) {
+            return latencies[Math.min(latencies.length - 1, (int) Math.ceil(quantile * latencies.length) - 1)];
+        }
+    }
+}
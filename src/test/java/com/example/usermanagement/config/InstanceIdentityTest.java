@@ -0,0 +1,22 @@
+package com.example.usermanagement.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstanceIdentityTest {
+
+    @Test
+    void configuredId_IsUsedAsIs() {
+        assertThat(new InstanceIdentity("pod-0", false).getId()).isEqualTo("pod-0");
+    }
+
+    @Test
+    void missingId_FailsStartupUnlessRandomFallbackIsAllowed() {
+        assertThatThrownBy(() -> new InstanceIdentity("", false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.instance-id");
+        assertThat(new InstanceIdentity(" ", true).getId()).isNotBlank();
+    }
+}
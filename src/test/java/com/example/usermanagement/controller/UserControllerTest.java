@@ -1,9 +1,22 @@
 package com.example.usermanagement.controller;
 
+import com.example.usermanagement.dto.BatchUserRequest;
+import com.example.usermanagement.dto.BatchUserResponse;
+import com.example.usermanagement.dto.ImportJobStatus;
 import com.example.usermanagement.dto.PageResponse;
+import com.example.usermanagement.dto.PageTotalMode;
+import com.example.usermanagement.dto.StatsBucket;
+import com.example.usermanagement.dto.UserField;
 import com.example.usermanagement.dto.UserRequest;
 import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.dto.UserStatsResponse;
+import com.example.usermanagement.dto.UserSuggestion;
 import com.example.usermanagement.entity.User;
+import com.example.usermanagement.service.UserBatchService;
+import com.example.usermanagement.exception.DuplicateImportJobException;
+import com.example.usermanagement.exception.ImportJobNotFoundException;
+import com.example.usermanagement.service.UserExportService;
+import com.example.usermanagement.service.UserImportService;
 import com.example.usermanagement.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,12 +24,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +55,15 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserBatchService userBatchService;
+
+    @MockBean
+    private UserExportService userExportService;
+
+    @MockBean
+    private UserImportService userImportService;
+
     private UserRequest userRequest;
     private UserResponse userResponse;
 
@@ -79,6 +110,39 @@ class UserControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createUsers_PartialFailure_ReturnsMultiStatus() throws Exception {
+        BatchUserResponse batchResponse = BatchUserResponse.builder()
+                .requested(2)
+                .created(1)
+                .failed(1)
+                .results(List.of(
+                        BatchUserResponse.ItemResult.builder()
+                                .index(0).email("john.doe@example.com")
+                                .status(BatchUserResponse.ItemStatus.CREATED).id(1L).build(),
+                        BatchUserResponse.ItemResult.builder()
+                                .index(1).email("john.doe@example.com")
+                                .status(BatchUserResponse.ItemStatus.DUPLICATE).build()))
+                .build();
+
+        when(userBatchService.createUsers(anyList())).thenReturn(batchResponse);
+
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchUserRequest(List.of(userRequest, userRequest)))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("DUPLICATE"));
+    }
+
+    @Test
+    void createUsers_EmptyBatch_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchUserRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getUserById_Success() throws Exception {
         when(userService.getUserById(1L)).thenReturn(userResponse);
@@ -99,7 +163,7 @@ class UserControllerTest {
                 .totalPages(1)
                 .build();
 
-        when(userService.getAllUsers(any())).thenReturn(pageResponse);
+        when(userService.getAllUsers(any(Pageable.class), any(), any())).thenReturn(pageResponse);
 
         mockMvc.perform(get("/api/v1/users")
                         .param("page", "0")
@@ -109,6 +173,63 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.content[0].email").value("john.doe@example.com"));
     }
 
+    @Test
+    void getAllUsers_WithCursor_UsesKeysetPagination() throws Exception {
+        PageResponse<UserResponse> pageResponse = PageResponse.<UserResponse>builder()
+                .content(Arrays.asList(userResponse))
+                .pageSize(10)
+                .first(true)
+                .nextCursor("eyJpZCI6MX0")
+                .build();
+
+        when(userService.getAllUsers(eq(""), eq(10), any())).thenReturn(pageResponse);
+
+        mockMvc.perform(get("/api/v1/users")
+                        .param("after", "")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$.nextCursor").value("eyJpZCI6MX0"));
+    }
+
+    @Test
+    void getUsersByRole_WithoutTotal_SkipsCount() throws Exception {
+        PageResponse<UserResponse> pageResponse = PageResponse.<UserResponse>builder()
+                .content(Arrays.asList(userResponse))
+                .pageNumber(0)
+                .pageSize(10)
+                .last(true)
+                .build();
+
+        when(userService.getUsersByRole(eq(User.UserRole.USER), any(), eq(PageTotalMode.NONE), any()))
+                .thenReturn(pageResponse);
+
+        mockMvc.perform(get("/api/v1/users/filter/role/USER")
+                        .param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void getUsersByCity_WithFields_PassesSelection() throws Exception {
+        UserResponse projected = UserResponse.builder().id(1L).email("john.doe@example.com").build();
+        when(userService.getUsersByCity("London", EnumSet.of(UserField.ID, UserField.EMAIL)))
+                .thenReturn(List.of(projected));
+
+        mockMvc.perform(get("/api/v1/users/filter/city/London")
+                        .param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"));
+    }
+
+    @Test
+    void getUsersByCity_WithUnknownField_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/users/filter/city/London")
+                        .param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void updateUser_Success() throws Exception {
         when(userService.updateUser(eq(1L), any(UserRequest.class))).thenReturn(userResponse);
@@ -120,6 +241,50 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.id").value(1));
     }
 
+    @Test
+    void patchUser_Success() throws Exception {
+        when(userService.patchUser(eq(1L), any())).thenReturn(userResponse);
+
+        mockMvc.perform(patch("/api/v1/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"city\": \"Boston\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void patchUser_InvalidEmail_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"invalid-email\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchUser_EmptyEmail_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).patchUser(anyLong(), any());
+    }
+
+    @Test
+    void patchUser_BlankNames_ReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"   \"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/v1/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\": \"\\t\\t\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).patchUser(anyLong(), any());
+    }
+
     @Test
     void deleteUser_Success() throws Exception {
         mockMvc.perform(delete("/api/v1/users/1"))
@@ -136,7 +301,7 @@ class UserControllerTest {
                 .totalPages(1)
                 .build();
 
-        when(userService.searchUsers(anyString(), any())).thenReturn(pageResponse);
+        when(userService.searchUsers(anyString(), any(), any())).thenReturn(pageResponse);
 
         mockMvc.perform(get("/api/v1/users/search")
                         .param("q", "john"))
@@ -144,14 +309,106 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.content").isArray());
     }
 
+    @Test
+    void exportUsers_StreamsCsv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("id,email\n1,john.doe@example.com\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(userExportService).exportUsers(any(), any(), anyInt(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/users/export")
+                        .param("format", "csv")
+                        .param("role", "USER"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""))
+                .andExpect(content().string("id,email\n1,john.doe@example.com\n"));
+    }
+
+    @Test
+    void exportUsers_UnsupportedFormat_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/users/export")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(userExportService, never()).exportUsers(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void importUsers_ReturnsJobSummary() throws Exception {
+        ImportJobStatus jobStatus = ImportJobStatus.builder()
+                .jobId("job-1")
+                .state(ImportJobStatus.State.COMPLETED)
+                .rowsRead(1)
+                .created(1)
+                .build();
+
+        when(userImportService.importUsers(eq("job-1"), any(), any())).thenReturn(jobStatus);
+
+        mockMvc.perform(post("/api/v1/users/import")
+                        .param("format", "csv")
+                        .param("jobId", "job-1")
+                        .contentType("text/csv")
+                        .content("firstName,lastName,email,role\nJohn,Doe,john.doe@example.com,USER\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.created").value(1));
+    }
+
+    @Test
+    void importUsers_DuplicateJobId_ReturnsConflict() throws Exception {
+        when(userImportService.importUsers(eq("job-1"), any(), any()))
+                .thenThrow(new DuplicateImportJobException("job-1"));
+
+        mockMvc.perform(post("/api/v1/users/import")
+                        .param("format", "csv")
+                        .param("jobId", "job-1")
+                        .contentType("text/csv")
+                        .content("firstName,lastName,email,role\n"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getImportJob_Unknown_ReturnsNotFound() throws Exception {
+        when(userImportService.getImportJob("missing")).thenThrow(new ImportJobNotFoundException("missing"));
+
+        mockMvc.perform(get("/api/v1/users/import/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void autocomplete_Success() throws Exception {
+        when(userService.autocomplete("jo", 5))
+                .thenReturn(List.of(new UserSuggestion(1L, "John", "Doe", "john.doe@example.com")));
+
+        mockMvc.perform(get("/api/v1/users/autocomplete")
+                        .param("prefix", "jo")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"));
+    }
+
     @Test
     void getUserStats_Success() throws Exception {
-        when(userService.countUsersByStatus(any())).thenReturn(5L);
-        when(userService.countUsersByRole(any())).thenReturn(3L);
+        UserStatsResponse stats = UserStatsResponse.builder()
+                .totalUsers(8L)
+                .activeUsers(5L)
+                .admins(3L)
+                .build();
+
+        when(userService.getUserStats(true, StatsBucket.WEEK)).thenReturn(stats);
 
-        mockMvc.perform(get("/api/v1/users/stats"))
+        mockMvc.perform(get("/api/v1/users/stats")
+                        .param("byCountry", "true")
+                        .param("createdBucket", "WEEK"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.activeUsers").exists())
-                .andExpect(jsonPath("$.admins").exists());
+                .andExpect(jsonPath("$.admins").exists())
+                .andExpect(jsonPath("$.totalUsers").value(8));
     }
 }
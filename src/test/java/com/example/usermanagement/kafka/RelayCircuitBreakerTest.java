@@ -0,0 +1,71 @@
+package com.example.usermanagement.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelayCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final RelayCircuitBreaker breaker = new RelayCircuitBreaker(2, Duration.ofSeconds(30), clock);
+
+    @Test
+    void opensAfterThresholdAndProbesAfterOpenDuration() {
+        breaker.recordFailure();
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(RelayCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        clock.advance(Duration.ofSeconds(31));
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(RelayCircuitBreaker.State.HALF_OPEN);
+
+        breaker.recordSuccess();
+        assertThat(breaker.getState()).isEqualTo(RelayCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedProbeReopensImmediately() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        clock.advance(Duration.ofSeconds(31));
+        breaker.tryAcquire();
+
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(RelayCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
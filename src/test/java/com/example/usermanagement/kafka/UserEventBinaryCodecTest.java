@@ -0,0 +1,124 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserEventBinaryCodecTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    void encode_RoundTripsEveryField() {
+        UserEventDTO event = fullEvent();
+
+        UserEventDTO decoded = UserEventBinaryCodec.decode(UserEventBinaryCodec.encode(event));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(event);
+    }
+
+    @Test
+    void encode_RoundTripsUpdateDelta() {
+        User user = User.builder().id(7L).role(User.UserRole.ADMIN).status(User.UserStatus.ACTIVE).version(4L).build();
+        UserEventDTO event = UserEventDTO.updated(user, List.of(
+                new UserFieldChange(UserField.ROLE, "USER", "ADMIN"),
+                new UserFieldChange(UserField.BIO, "old bio", null),
+                new UserFieldChange(UserField.CITY, null, "")));
+        event.setEventTimestamp(LocalDateTime.of(2024, 5, 17, 9, 30));
+
+        UserEventDTO decoded = UserEventBinaryCodec.decode(UserEventBinaryCodec.encode(event));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(event);
+        assertThat(decoded.getPreviousRole()).isEqualTo(User.UserRole.USER);
+    }
+
+    @Test
+    void encode_KeepsNullsAndCustomEventTypes() {
+        UserEventDTO event = new UserEventDTO();
+        event.setEventType("USER_MERGED");
+        event.setUserId(300L);
+        event.setEventTimestamp(null);
+
+        UserEventDTO decoded = UserEventBinaryCodec.decode(UserEventBinaryCodec.encode(event));
+
+        assertThat(decoded.getEventType()).isEqualTo("USER_MERGED");
+        assertThat(decoded.getUserId()).isEqualTo(300L);
+        assertThat(decoded.getEmail()).isNull();
+        assertThat(decoded.getRole()).isNull();
+        assertThat(decoded.getEventTimestamp()).isNull();
+    }
+
+    @Test
+    void encode_IsSmallerThanJson() throws Exception {
+        UserEventDTO event = fullEvent();
+
+        byte[] binary = UserEventBinaryCodec.encode(event);
+        byte[] json = objectMapper.writeValueAsBytes(event);
+
+        assertThat(binary.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void decode_RejectsTruncatedPayload() {
+        byte[] binary = UserEventBinaryCodec.encode(fullEvent());
+
+        assertThatThrownBy(() -> UserEventBinaryCodec.decode(Arrays.copyOf(binary, binary.length - 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void serializer_UsesFormatConfiguredForTopic() {
+        UserEventSerializer serializer = new UserEventSerializer(objectMapper);
+        serializer.configure(Map.of(UserEventSerializer.FORMAT_CONFIG + ".user-events", "binary"), false);
+
+        assertThat(UserEventBinaryCodec.isBinary(serializer.serialize("user-events", fullEvent()))).isTrue();
+        assertThat(serializer.serialize("user-audit", fullEvent())[0]).isEqualTo((byte) '{');
+    }
+
+    @Test
+    void deserializer_ReadsBinaryAndLegacyJson() throws Exception {
+        UserEventDeserializer deserializer = new UserEventDeserializer(objectMapper);
+        UserEventDTO event = fullEvent();
+
+        UserEventDTO fromBinary = deserializer.deserialize("user-events", UserEventBinaryCodec.encode(event));
+        UserEventDTO fromJson = deserializer.deserialize("user-events", objectMapper.writeValueAsBytes(event));
+
+        assertThat(fromBinary.getEmail()).isEqualTo(event.getEmail());
+        assertThat(fromJson.getEmail()).isEqualTo(event.getEmail());
+        assertThat(fromJson.getPreviousRole()).isEqualTo(User.UserRole.USER);
+        assertThatThrownBy(() -> deserializer.deserialize("user-events", new byte[]{0, 9}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private UserEventDTO fullEvent() {
+        return UserEventDTO.builder()
+                .eventType(UserEventDTO.EventType.USER_UPDATED.name())
+                .userId(1_234_567L)
+                .email("zoë.müller@example.com")
+                .firstName("Zoë")
+                .lastName("Müller")
+                .role(User.UserRole.ADMIN)
+                .status(User.UserStatus.SUSPENDED)
+                .previousRole(User.UserRole.USER)
+                .previousStatus(User.UserStatus.ACTIVE)
+                .eventTimestamp(LocalDateTime.of(2024, 5, 17, 9, 30, 15, 123_000_000))
+                .performedBy("system")
+                .sourceInstanceId("node-a")
+                .version(12L)
+                .updatedAt(LocalDateTime.of(2024, 5, 17, 9, 30, 15, 123_456_000))
+                .build();
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.CacheConfig;
+import com.example.usermanagement.config.InstanceIdentity;
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.service.UserAutocompleteIndex;
+import com.example.usermanagement.service.UserCounters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventConsumerTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 11, 17, 10, 30, 45, 123_456_000);
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache usersCache;
+
+    @Mock
+    private UserAutocompleteIndex userAutocompleteIndex;
+
+    @Mock
+    private UserCounters userCounters;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserEventConsumer userEventConsumer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userEventConsumer = new UserEventConsumer(cacheManager, userAutocompleteIndex, userCounters,
+                new InstanceIdentity("node-a", false), meterRegistry, new JacksonConfig().objectMapper());
+    }
+
+    @Test
+    void consumeUserEvent_Updated_EvictsCachedUser() {
+        when(cacheManager.getCache(CacheConfig.USERS_CACHE)).thenReturn(usersCache);
+
+        userEventConsumer.consumeUserEvent(event(UserEventDTO.EventType.USER_UPDATED));
+
+        verify(usersCache, times(1)).evict(1L);
+    }
+
+    @Test
+    void consumeUserEvent_Delta_PatchesCachedUserWithoutEviction() {
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.USERS_CACHE);
+        cache.put(1L, UserResponse.builder().id(1L).firstName("John").lastName("Doe").city("Paris").version(1L).build());
+        when(cacheManager.getCache(CacheConfig.USERS_CACHE)).thenReturn(cache);
+        userEventConsumer.consumeUserEvent(UserEventDTO.updated(userAt(2L), List.of(
+                new UserFieldChange(UserField.CITY, "Paris", "Oslo"),
+                new UserFieldChange(UserField.LAST_NAME, "Doe", null))));
+
+        UserResponse cached = cache.get(1L, UserResponse.class);
+        assertThat(cached.getCity()).isEqualTo("Oslo");
+        assertThat(cached.getLastName()).isNull();
+        assertThat(cached.getFirstName()).isEqualTo("John");
+        assertThat(cached.getVersion()).isEqualTo(2L);
+        assertThat(cached.getUpdatedAt()).isEqualTo(UPDATED_AT);
+    }
+
+    @Test
+    void consumeUserEvent_DeltaWithoutUpdatedAt_EvictsCachedUser() {
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.USERS_CACHE);
+        cache.put(1L, UserResponse.builder().id(1L).city("Paris").version(1L).build());
+        when(cacheManager.getCache(CacheConfig.USERS_CACHE)).thenReturn(cache);
+        UserEventDTO toOslo = UserEventDTO.updated(userAt(2L),
+                List.of(new UserFieldChange(UserField.CITY, "Paris", "Oslo")));
+        toOslo.setUpdatedAt(null);
+
+        userEventConsumer.consumeUserEvent(toOslo);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void consumeUserEvent_DeltasInReverseOrder_EvictInsteadOfKeepingOlderValue() {
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.USERS_CACHE);
+        cache.put(1L, UserResponse.builder().id(1L).city("Paris").version(1L).build());
+        when(cacheManager.getCache(CacheConfig.USERS_CACHE)).thenReturn(cache);
+        UserEventDTO toOslo = UserEventDTO.updated(userAt(2L),
+                List.of(new UserFieldChange(UserField.CITY, "Paris", "Oslo")));
+        UserEventDTO toRome = UserEventDTO.updated(userAt(3L),
+                List.of(new UserFieldChange(UserField.CITY, "Oslo", "Rome")));
+
+        userEventConsumer.consumeUserEvent(toRome);
+        assertThat(cache.get(1L)).isNull();
+
+        // A later read caches version 3; the late version 2 delta must not roll it back.
+        cache.put(1L, UserResponse.builder().id(1L).city("Rome").version(3L).build());
+        userEventConsumer.consumeUserEvent(toOslo);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void consumeUserEvent_RedeliveredDelta_EvictsPatchedUser() {
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.USERS_CACHE);
+        cache.put(1L, UserResponse.builder().id(1L).city("Paris").version(1L).build());
+        when(cacheManager.getCache(CacheConfig.USERS_CACHE)).thenReturn(cache);
+        UserEventDTO toOslo = UserEventDTO.updated(userAt(2L),
+                List.of(new UserFieldChange(UserField.CITY, "Paris", "Oslo")));
+
+        userEventConsumer.consumeUserEvent(toOslo);
+        assertThat(cache.get(1L, UserResponse.class).getCity()).isEqualTo("Oslo");
+
+        userEventConsumer.consumeUserEvent(toOslo);
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void consumeUserEvent_DeltaWithoutVersion_EvictsCachedUser() {
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.USERS_CACHE);
+        cache.put(1L, UserResponse.builder().id(1L).city("Paris").version(1L).build());
+        when(cacheManager.getCache(CacheConfig.USERS_CACHE)).thenReturn(cache);
+
+        userEventConsumer.consumeUserEvent(UserEventDTO.updated(userAt(null),
+                List.of(new UserFieldChange(UserField.CITY, "Paris", "Oslo"))));
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void consumeUserEvent_Deleted_EvictsCachedUser() {
+        when(cacheManager.getCache(CacheConfig.USERS_CACHE)).thenReturn(usersCache);
+
+        userEventConsumer.consumeUserEvent(event(UserEventDTO.EventType.USER_DELETED));
+
+        verify(usersCache, times(1)).evict(1L);
+        verify(userAutocompleteIndex, times(1)).onUserEvent(any(UserEventDTO.class));
+    }
+
+    @Test
+    void consumeUserEvent_Created_DoesNotTouchCache() {
+        userEventConsumer.consumeUserEvent(event(UserEventDTO.EventType.USER_CREATED));
+
+        verify(cacheManager, never()).getCache(any());
+    }
+
+    @Test
+    void consumeUserEvent_FromOtherInstance_UpdatesCounters() {
+        userEventConsumer.consumeUserEvent(event(UserEventDTO.EventType.USER_CREATED, "node-b"));
+
+        verify(userCounters, times(1)).onUserEvent(any(UserEventDTO.class));
+    }
+
+    @Test
+    void consumeUserEvent_CacheFailure_LeavesCountersForTheRetry() {
+        when(cacheManager.getCache(CacheConfig.USERS_CACHE)).thenThrow(new IllegalStateException("cache down"));
+
+        assertThatThrownBy(() -> userEventConsumer.consumeUserEvent(event(UserEventDTO.EventType.USER_DELETED, "node-b")))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(userCounters, never()).onUserEvent(any());
+    }
+
+    @Test
+    void consumeUserEvent_FromSameInstance_SkipsCounters() {
+        userEventConsumer.consumeUserEvent(event(UserEventDTO.EventType.USER_CREATED, "node-a"));
+
+        verify(userCounters, never()).onUserEvent(any());
+    }
+
+    @Test
+    void consumeUserEvents_ProcessesBatchThenAcknowledges() {
+        userEventConsumer.consumeUserEvents(List.of(
+                record(0, event(UserEventDTO.EventType.USER_CREATED)),
+                record(1, event(UserEventDTO.EventType.USER_CREATED)),
+                record(2, event(UserEventDTO.EventType.USER_CREATED))), acknowledgment);
+
+        verify(userAutocompleteIndex, times(3)).onUserEvent(any(UserEventDTO.class));
+        verify(acknowledgment).acknowledge();
+        assertThat(meterRegistry.get("user.events.consumer.batch").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.events.consumer.batch.size").summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    void consumeUserEvent_RecordsProcessingTimeAndLagPerType() {
+        UserEventDTO event = event(UserEventDTO.EventType.USER_CREATED);
+        event.setEventTimestamp(LocalDateTime.now().minusSeconds(2));
+
+        userEventConsumer.consumeUserEvent(event);
+
+        assertThat(meterRegistry.get("user.events.consumer.process")
+                .tags("type", "USER_CREATED", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.events.consumer.lag")
+                .tag("type", "USER_CREATED").timer().totalTime(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(2.0);
+    }
+
+    @Test
+    void consumeUserEvents_UndecodableRecord_ReportsIndexForDeadLettering() {
+        assertThatThrownBy(() -> userEventConsumer.consumeUserEvents(List.of(
+                record(0, event(UserEventDTO.EventType.USER_CREATED)),
+                record(1, new byte[]{0, 42})), acknowledgment))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+        verify(userAutocompleteIndex, times(1)).onUserEvent(any(UserEventDTO.class));
+        verify(acknowledgment, never()).acknowledge();
+        assertThat(meterRegistry.get("user.events.consumer.undecodable").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void consumeUserEvents_FailingRecord_ReportsIndexAndDoesNotAcknowledge() {
+        doNothing().doThrow(new IllegalStateException("index unavailable"))
+                .when(userAutocompleteIndex).onUserEvent(any(UserEventDTO.class));
+
+        assertThatThrownBy(() -> userEventConsumer.consumeUserEvents(List.of(
+                record(0, event(UserEventDTO.EventType.USER_CREATED)),
+                record(1, event(UserEventDTO.EventType.USER_CREATED))), acknowledgment))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    private ConsumerRecord<String, byte[]> record(long offset, UserEventDTO event) {
+        return record(offset, UserEventBinaryCodec.encode(event));
+    }
+
+    private ConsumerRecord<String, byte[]> record(long offset, byte[] value) {
+        return new ConsumerRecord<>("user-events", 0, offset, "1", value);
+    }
+
+    private User userAt(Long version) {
+        return User.builder().id(1L).role(User.UserRole.USER).status(User.UserStatus.ACTIVE)
+                .version(version).updatedAt(UPDATED_AT).build();
+    }
+
+    private UserEventDTO event(UserEventDTO.EventType eventType) {
+        return event(eventType, null);
+    }
+
+    private UserEventDTO event(UserEventDTO.EventType eventType, String sourceInstanceId) {
+        return UserEventDTO.builder()
+                .eventType(eventType.name())
+                .userId(1L)
+                .email("john.doe@example.com")
+                .firstName("John")
+                .lastName("Doe")
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .performedBy("system")
+                .sourceInstanceId(sourceInstanceId)
+                .build();
+    }
+}
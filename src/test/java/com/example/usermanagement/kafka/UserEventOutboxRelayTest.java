@@ -0,0 +1,312 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.InstanceIdentity;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.entity.UserEventOutbox;
+import com.example.usermanagement.repository.UserEventOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventOutboxRelayTest {
+
+    @Mock
+    private UserEventOutboxRepository userEventOutboxRepository;
+
+    @Mock
+    private UserEventPublisher userEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UserEventSerializer serializer = new UserEventSerializer();
+    private final UserEventDeserializer deserializer = new UserEventDeserializer();
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserEventOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = relay(Duration.ZERO);
+        when(userEventOutboxRepository.tryAcquireRelayLease(eq("relay-test"), any())).thenReturn(true);
+    }
+
+    @Test
+    void relayBatch_AllAcknowledged_DeletesWholeBatch() {
+        when(userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(3)))
+                .thenReturn(List.of(row(1L, 10L), row(2L, 11L), row(3L, 10L)));
+        when(userEventPublisher.publish(anyLong(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        int relayed = relay.relayBatch();
+
+        assertThat(relayed).isEqualTo(3);
+        verify(userEventOutboxRepository).deleteByIdIn(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void relayBatch_SendsOutsideClaimAndDeleteTransactions() {
+        when(userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(3)))
+                .thenReturn(List.of(row(1L, 10L), row(2L, 11L)));
+        when(userEventPublisher.publish(anyLong(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        InOrder inOrder = inOrder(transactionManager, userEventOutboxRepository, userEventPublisher);
+        inOrder.verify(userEventOutboxRepository).tryAcquireRelayLease("relay-test", Duration.ofSeconds(3));
+        inOrder.verify(userEventOutboxRepository).findByOrderByRelaySeqAsc(Limit.of(3));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(userEventPublisher, times(2)).publish(anyLong(), any(byte[].class));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userEventOutboxRepository).deleteByIdIn(List.of(1L, 2L));
+        inOrder.verify(transactionManager).commit(any());
+        verify(userEventOutboxRepository, never()).releaseRelayLease(any());
+    }
+
+    @Test
+    void relay_KeepsLeaseAcrossPollsAndReleasesItOnShutdown() {
+        when(userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(3)))
+                .thenReturn(List.of(row(1L, 10L), row(2L, 11L)))
+                .thenReturn(List.of());
+        when(userEventPublisher.publish(anyLong(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+        relay.relay();
+        relay.releaseLease();
+
+        verify(userEventOutboxRepository, times(1)).tryAcquireRelayLease(eq("relay-test"), any());
+        verify(userEventOutboxRepository, times(2)).findByOrderByRelaySeqAsc(Limit.of(3));
+        verify(userEventOutboxRepository, times(1)).releaseRelayLease("relay-test");
+        assertThat(meterRegistry.get("user.events.outbox.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void relayBatch_FailedSend_KeepsLaterEventsForSameUser() {
+        when(userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(3)))
+                .thenReturn(List.of(row(1L, 10L), row(2L, 11L), row(3L, 10L)));
+        when(userEventPublisher.publish(10L, payload(1L)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(userEventPublisher.publish(11L, payload(2L)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        int relayed = relay.relayBatch();
+
+        assertThat(relayed).isZero();
+        verify(userEventPublisher, never()).publish(10L, payload(3L));
+        verify(userEventOutboxRepository).deleteByIdIn(List.of(2L));
+        assertThat(meterRegistry.get("user.events.relay.failures").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("user.events.outbox.depth").gauge().value()).isEqualTo(2.0);
+        assertThat(relay.getCircuitState()).isEqualTo(RelayCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void relayBatch_SecondOfThreeSendsFails_RetriesWithoutReorderingOrDuplicates() {
+        when(userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(3)))
+                .thenReturn(List.of(row(1L, 10L), row(2L, 10L), row(3L, 10L)))
+                .thenReturn(List.of(row(2L, 10L), row(3L, 10L)));
+        when(userEventPublisher.publish(10L, payload(1L)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(userEventPublisher.publish(10L, payload(2L)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(userEventPublisher.publish(10L, payload(3L)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relayBatch();
+        relay.relayBatch();
+
+        ArgumentCaptor<byte[]> published = ArgumentCaptor.forClass(byte[].class);
+        verify(userEventPublisher, times(4)).publish(eq(10L), published.capture());
+        assertThat(published.getAllValues()).containsExactly(payload(1L), payload(2L), payload(2L), payload(3L));
+        InOrder inOrder = inOrder(userEventOutboxRepository);
+        inOrder.verify(userEventOutboxRepository).deleteByIdIn(List.of(1L));
+        inOrder.verify(userEventOutboxRepository).deleteByIdIn(List.of(2L, 3L));
+    }
+
+    @Test
+    void relay_RepeatedFailures_OpenCircuitAndStopPolling() {
+        when(userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(3))).thenReturn(List.of(row(1L, 10L)));
+        when(userEventPublisher.publish(anyLong(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay.relayBatch();
+        relay.relayBatch();
+        relay.relay();
+
+        assertThat(relay.getCircuitState()).isEqualTo(RelayCircuitBreaker.State.OPEN);
+        verify(userEventOutboxRepository, times(2)).findByOrderByRelaySeqAsc(Limit.of(3));
+        verify(userEventOutboxRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void relayBatch_LeaseHeldElsewhere_DoesNothing() {
+        when(userEventOutboxRepository.tryAcquireRelayLease(eq("relay-test"), any())).thenReturn(false);
+
+        int relayed = relay.relayBatch();
+
+        assertThat(relayed).isZero();
+        verify(userEventOutboxRepository, never()).findByOrderByRelaySeqAsc(any());
+        verifyNoInteractions(userEventPublisher);
+    }
+
+    @Test
+    void relayBatch_Coalescing_CollapsesCreateAndUpdatesIntoOneCreate() {
+        relay = relay(Duration.ofMillis(500));
+        UserEventDTO created = event(10L, UserEventDTO.EventType.USER_CREATED);
+        created.setFirstName("Ann");
+        when(userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(3))).thenReturn(List.of(
+                row(1L, created),
+                row(2L, update(10L, new UserFieldChange(UserField.FIRST_NAME, "Ann", "Anna"))),
+                row(3L, event(11L, UserEventDTO.EventType.USER_DELETED))));
+        when(userEventPublisher.publish(anyLong(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        int relayed = relay.relayBatch();
+
+        assertThat(relayed).isEqualTo(3);
+        UserEventDTO published = publishedEvent(10L);
+        assertThat(published.getEventType()).isEqualTo("USER_CREATED");
+        assertThat(published.getFirstName()).isEqualTo("Anna");
+        verify(userEventOutboxRepository).deleteByIdIn(List.of(1L, 2L, 3L));
+        assertThat(meterRegistry.get("user.events.coalescing.rows").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("user.events.coalescing.events").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("user.events.coalescing.ratio").gauge().value()).isCloseTo(1.0 / 3, within(1e-9));
+    }
+
+    @Test
+    void relayBatch_Coalescing_MergesUpdatesAndHoldsBackRecentRows() {
+        relay = relay(Duration.ofMillis(500));
+        UserEventOutbox recent = row(3L, update(10L, new UserFieldChange(UserField.CITY, "Oslo", "Bergen")));
+        recent.setCreatedAt(LocalDateTime.now());
+        when(userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(3))).thenReturn(List.of(
+                row(1L, update(10L, new UserFieldChange(UserField.FIRST_NAME, "Ann", "Anna"),
+                        new UserFieldChange(UserField.CITY, null, "Oslo"))),
+                row(2L, update(10L, new UserFieldChange(UserField.FIRST_NAME, "Anna", "Ann"))),
+                recent));
+        when(userEventPublisher.publish(anyLong(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        int relayed = relay.relayBatch();
+
+        assertThat(relayed).isZero();
+        UserEventDTO published = publishedEvent(10L);
+        assertThat(published.getChanges()).singleElement().satisfies(change -> {
+            assertThat(change.getField()).isEqualTo(UserField.CITY);
+            assertThat(change.getNewValue()).isEqualTo("Oslo");
+        });
+        assertThat(published.getChangedFields()).isEqualTo(UserField.toMask(List.of(UserField.CITY)));
+        verify(userEventOutboxRepository).deleteByIdIn(List.of(1L, 2L));
+    }
+
+    @Test
+    void relayBatch_Coalescing_DeleteSupersedesUpdatesAndCancelsCreate() {
+        relay = relay(Duration.ofMillis(500));
+        UserEventDTO promoted = update(10L, new UserFieldChange(UserField.ROLE, "USER", "ADMIN"));
+        promoted.setPreviousRole(User.UserRole.USER);
+        promoted.setRole(User.UserRole.ADMIN);
+        UserEventDTO deleted = event(10L, UserEventDTO.EventType.USER_DELETED);
+        deleted.setRole(User.UserRole.ADMIN);
+        ReflectionTestUtils.setField(relay, "batchSize", 4);
+        when(userEventOutboxRepository.findByOrderByRelaySeqAsc(Limit.of(4))).thenReturn(List.of(
+                row(1L, promoted),
+                row(2L, deleted),
+                row(3L, event(11L, UserEventDTO.EventType.USER_CREATED)),
+                row(4L, event(11L, UserEventDTO.EventType.USER_DELETED))));
+        when(userEventPublisher.publish(anyLong(), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        int relayed = relay.relayBatch();
+
+        assertThat(relayed).isEqualTo(4);
+        UserEventDTO published = publishedEvent(10L);
+        assertThat(published.getEventType()).isEqualTo("USER_DELETED");
+        assertThat(published.getRole()).isEqualTo(User.UserRole.USER);
+        verify(userEventPublisher, never()).publish(eq(11L), any(byte[].class));
+        verify(userEventOutboxRepository).deleteByIdIn(List.of(1L, 2L, 3L, 4L));
+    }
+
+    private UserEventOutboxRelay relay(Duration coalescingWindow) {
+        meterRegistry = new SimpleMeterRegistry();
+        UserEventOutboxRelay relay = new UserEventOutboxRelay(userEventOutboxRepository, userEventPublisher,
+                serializer, new InstanceIdentity("relay-test", false), transactionManager, meterRegistry, "user-events",
+                2, Duration.ofMinutes(1), coalescingWindow);
+        ReflectionTestUtils.setField(relay, "batchSize", 3);
+        ReflectionTestUtils.setField(relay, "sendTimeout", Duration.ofSeconds(1));
+        return relay;
+    }
+
+    private UserEventDTO publishedEvent(Long userId) {
+        ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+        verify(userEventPublisher).publish(eq(userId), payload.capture());
+        return deserializer.deserialize("user-events", payload.getValue());
+    }
+
+    private UserEventOutbox row(Long id, UserEventDTO event) {
+        return UserEventOutbox.builder()
+                .id(id)
+                .userId(event.getUserId())
+                .eventType(event.getEventType())
+                .payload(serializer.serialize("user-events", event))
+                .createdAt(LocalDateTime.now().minusSeconds(5))
+                .build();
+    }
+
+    private static UserEventDTO event(Long userId, UserEventDTO.EventType type) {
+        return UserEventDTO.builder()
+                .eventType(type.name())
+                .userId(userId)
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .build();
+    }
+
+    private static UserEventDTO update(Long userId, UserFieldChange... changes) {
+        UserEventDTO event = event(userId, UserEventDTO.EventType.USER_UPDATED);
+        event.setPreviousRole(User.UserRole.USER);
+        event.setPreviousStatus(User.UserStatus.ACTIVE);
+        event.setChanges(List.of(changes));
+        event.setChangedFields(UserField.toMask(
+                Arrays.stream(changes).map(UserFieldChange::getField).toList()));
+        return event;
+    }
+
+    private UserEventOutbox row(Long id, Long userId) {
+        return UserEventOutbox.builder()
+                .id(id)
+                .userId(userId)
+                .eventType("USER_UPDATED")
+                .payload(payload(id))
+                .build();
+    }
+
+    private byte[] payload(Long id) {
+        return ("payload-" + id).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.InstanceIdentity;
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.entity.UserEventOutbox;
+import com.example.usermanagement.repository.UserEventOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventProducerTest {
+
+    @Mock
+    private UserEventOutboxRepository userEventOutboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private ObjectMapper objectMapper;
+    private UserEventProducer userEventProducer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        userEventProducer = new UserEventProducer(
+                userEventOutboxRepository, new UserEventSerializer(objectMapper), applicationEventPublisher,
+                new InstanceIdentity("node-a", false));
+        ReflectionTestUtils.setField(userEventProducer, "userEventsTopic", "user-events");
+    }
+
+    @Test
+    void sendUserEvent_WritesOutboxRowAndPublishesLocally() throws Exception {
+        UserEventDTO event = event(1L);
+
+        userEventProducer.sendUserEvent(event);
+
+        ArgumentCaptor<UserEventOutbox> row = ArgumentCaptor.forClass(UserEventOutbox.class);
+        verify(userEventOutboxRepository).save(row.capture());
+        assertThat(row.getValue().getUserId()).isEqualTo(1L);
+        assertThat(row.getValue().getEventType()).isEqualTo("USER_CREATED");
+        UserEventDTO payload = objectMapper.readValue(row.getValue().getPayload(), UserEventDTO.class);
+        assertThat(payload.getSourceInstanceId()).isEqualTo("node-a");
+        verify(applicationEventPublisher).publishEvent(event);
+    }
+
+    @Test
+    void sendUserEvent_BinaryTopic_WritesBinaryPayload() {
+        userEventProducer = new UserEventProducer(userEventOutboxRepository,
+                new UserEventSerializer(objectMapper, UserEventWireFormat.JSON,
+                        Map.of("user-events", UserEventWireFormat.BINARY)),
+                applicationEventPublisher, new InstanceIdentity("node-a", false));
+        ReflectionTestUtils.setField(userEventProducer, "userEventsTopic", "user-events");
+
+        userEventProducer.sendUserEvent(event(1L));
+
+        ArgumentCaptor<UserEventOutbox> row = ArgumentCaptor.forClass(UserEventOutbox.class);
+        verify(userEventOutboxRepository).save(row.capture());
+        assertThat(UserEventBinaryCodec.isBinary(row.getValue().getPayload())).isTrue();
+        assertThat(UserEventBinaryCodec.decode(row.getValue().getPayload()).getUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    void sendUserEvents_SavesAllRowsAtOnce() {
+        userEventProducer.sendUserEvents(List.of(event(1L), event(2L)));
+
+        verify(userEventOutboxRepository, times(1)).saveAll(argThat((List<UserEventOutbox> rows) -> rows.size() == 2));
+        verify(userEventOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    void sendUserEvents_Empty_DoesNothing() {
+        userEventProducer.sendUserEvents(List.of());
+
+        verifyNoInteractions(userEventOutboxRepository, applicationEventPublisher);
+    }
+
+    private UserEventDTO event(Long userId) {
+        return UserEventDTO.builder()
+                .eventType(UserEventDTO.EventType.USER_CREATED.name())
+                .userId(userId)
+                .email("user" + userId + "@example.com")
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .build();
+    }
+}
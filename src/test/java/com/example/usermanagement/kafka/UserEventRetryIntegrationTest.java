@@ -0,0 +1,227 @@
+package com.example.usermanagement.kafka;
+
+import com.example.usermanagement.config.InstanceIdentity;
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.config.KafkaConfig;
+import com.example.usermanagement.dto.DeadLetterRecord;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.service.UserAutocompleteIndex;
+import com.example.usermanagement.service.UserCounters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(classes = UserEventRetryIntegrationTest.TestConfig.class, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "kafka.topic.user-events=user-events",
+        "kafka.topic.user-events.partitions=1",
+        "kafka.topic.user-events.format=binary",
+        "kafka.consumer.auto-offset-reset=earliest",
+        "kafka.consumer.retry.initial-interval=1s",
+        "kafka.consumer.retry.multiplier=2",
+        "app.instance-id=node-a"
+})
+@EmbeddedKafka(partitions = 1, topics = {
+        "user-events", "user-events-retry-0", "user-events-retry-1", "user-events-retry-2", "user-events-dlt"
+})
+class UserEventRetryIntegrationTest {
+
+    private static final long POISON_USER_ID = 666L;
+    private static final int GOOD_EVENTS = 50;
+    private static final long RETIRED_USER_ID = 777L;
+
+    @Configuration
+    @EnableKafka
+    @Import({KafkaConfig.class, JacksonConfig.class, InstanceIdentity.class, UserEventRetryTopics.class,
+            UserEventConsumer.class, UserEventRetryConsumer.class, UserEventDeadLetterEndpoint.class})
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    @MockBean
+    private UserAutocompleteIndex userAutocompleteIndex;
+
+    @MockBean
+    private UserCounters userCounters;
+
+    @Autowired
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Autowired
+    private UserEventSerializer userEventSerializer;
+
+    @Autowired
+    private UserEventDeadLetterEndpoint deadLetterEndpoint;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Test
+    void poisonEvent_DoesNotBlockPartitionAndEndsInDeadLetterTopic() throws Exception {
+        List<Long> processed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            UserEventDTO event = invocation.getArgument(0);
+            processed.add(event.getUserId());
+            if (event.getUserId() == POISON_USER_ID) {
+                throw new IllegalStateException("poison event");
+            }
+            return null;
+        }).when(userAutocompleteIndex).onUserEvent(any(UserEventDTO.class));
+
+        byte[] poison = send(POISON_USER_ID);
+        for (long userId = 1; userId <= GOOD_EVENTS; userId++) {
+            send(userId);
+        }
+
+        // Every event behind the poison one is handled before its first delayed retry.
+        awaitUntil(() -> poisonAttempts(processed) >= 2, Duration.ofSeconds(20));
+        int firstRetry = processed.lastIndexOf(POISON_USER_ID);
+        assertThat(processed.subList(0, firstRetry))
+                .containsAll(LongStream.rangeClosed(1, GOOD_EVENTS).boxed().toList());
+
+        try (Consumer<String, byte[]> consumer = dltConsumer("poison-check")) {
+            ConsumerRecord<String, byte[]> deadLetter =
+                    KafkaTestUtils.getSingleRecord(consumer, "user-events-dlt", Duration.ofSeconds(30));
+
+            assertThat(deadLetter.key()).isEqualTo(Long.toString(POISON_USER_ID));
+            assertThat(header(deadLetter, KafkaHeaders.DLT_ORIGINAL_TOPIC)).isEqualTo("user-events");
+            assertThat(header(deadLetter, KafkaHeaders.DLT_EXCEPTION_FQCN)).isNotNull();
+            assertThat(UserEventRetryTopics.attempts(deadLetter)).isEqualTo(4);
+            // Forwarded through every retry tier byte for byte, still in the binary format.
+            assertThat(deadLetter.value()).isEqualTo(poison);
+            assertThat(UserEventBinaryCodec.isBinary(deadLetter.value())).isTrue();
+        }
+        assertThat(poisonAttempts(processed)).isEqualTo(4);
+    }
+
+    @Test
+    void undecodableEvent_GoesStraightToDeadLetterTopicAndCanBeReplayed() throws Exception {
+        kafkaTemplate.send("user-events", "undecodable", new byte[]{0, 42}).get();
+
+        awaitUntil(() -> undecodable(deadLetterEndpoint.deadLetters(100)) != null, Duration.ofSeconds(20));
+        DeadLetterRecord deadLetter = undecodable(deadLetterEndpoint.deadLetters(100));
+        assertThat(deadLetter.getEvent()).isNull();
+        assertThat(deadLetter.getRawPayload()).isEqualTo("ACo=");
+        assertThat(deadLetter.getAttempts()).isEqualTo(1);
+        assertThat(deadLetter.getTargetInstance()).isEqualTo("node-a");
+
+        assertThat(deadLetterEndpoint.replay(100).getReplayed()).isGreaterThanOrEqualTo(1);
+
+        // Still undecodable, so it comes back from the retry tier with a new offset.
+        awaitUntil(() -> {
+            DeadLetterRecord replayed = undecodable(deadLetterEndpoint.deadLetters(100));
+            return replayed != null && replayed.getOffset() > deadLetter.getOffset();
+        }, Duration.ofSeconds(20));
+    }
+
+    @Test
+    void replayedDeadLetter_IsRetargetedToReplayingInstance() throws Exception {
+        List<Long> processed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            processed.add(invocation.<UserEventDTO>getArgument(0).getUserId());
+            return null;
+        }).when(userAutocompleteIndex).onUserEvent(any(UserEventDTO.class));
+        UserEventDTO event = UserEventDTO.builder()
+                .eventType(UserEventDTO.EventType.USER_CREATED.name())
+                .userId(RETIRED_USER_ID)
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .build();
+        // Dead-lettered on an instance that no longer exists.
+        kafkaTemplate.send(new ProducerRecord<>("user-events-dlt", null, Long.toString(RETIRED_USER_ID),
+                userEventSerializer.serialize("user-events", event), new RecordHeaders()
+                        .add(UserEventRetryTopics.ATTEMPTS_HEADER, UserEventRetryTopics.utf8("4"))
+                        .add(UserEventRetryTopics.TARGET_HEADER, UserEventRetryTopics.utf8("node-gone")))).get();
+
+        assertThat(deadLetterEndpoint.replay(100).getReplayed()).isGreaterThanOrEqualTo(1);
+
+        awaitUntil(() -> processed.contains(RETIRED_USER_ID), Duration.ofSeconds(20));
+    }
+
+    private byte[] send(long userId) throws Exception {
+        UserEventDTO event = UserEventDTO.builder()
+                .eventType(UserEventDTO.EventType.USER_CREATED.name())
+                .userId(userId)
+                .email("user" + userId + "@example.com")
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .build();
+        byte[] payload = userEventSerializer.serialize("user-events", event);
+        kafkaTemplate.send("user-events", Long.toString(userId), payload).get();
+        return payload;
+    }
+
+    private Consumer<String, byte[]> dltConsumer(String group) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps(group, "false", embeddedKafka);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer();
+        embeddedKafka.consumeFromAnEmbeddedTopic(consumer, "user-events-dlt");
+        return consumer;
+    }
+
+    private static DeadLetterRecord undecodable(List<DeadLetterRecord> deadLetters) {
+        return deadLetters.stream()
+                .filter(record -> "undecodable".equals(record.getKey()))
+                .reduce((first, second) -> second)
+                .orElse(null);
+    }
+
+    private static long poisonAttempts(List<Long> processed) {
+        return processed.stream().filter(id -> id == POISON_USER_ID).count();
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String name) {
+        var header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within %s", timeout).isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+}
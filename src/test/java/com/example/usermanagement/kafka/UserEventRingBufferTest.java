@@ -0,0 +1,114 @@
+package com.example.usermanagement.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserEventRingBufferTest {
+
+    @Test
+    void offer_RejectsWhenFullAndAcceptsAfterDrain() {
+        UserEventRingBuffer<String> ring = new UserEventRingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer("e" + i)).isTrue();
+        }
+        assertThat(ring.offer("overflow")).isFalse();
+
+        List<String> batch = new ArrayList<>();
+        assertThat(ring.drainTo(batch, 2)).isEqualTo(2);
+        assertThat(batch).containsExactly("e0", "e1");
+        assertThat(ring.offer("e4")).isTrue();
+
+        batch.clear();
+        ring.drainTo(batch, 10);
+        assertThat(batch).containsExactly("e2", "e3", "e4");
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducers_KeepPerProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        UserEventRingBuffer<String> ring = new UserEventRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(producer + ":" + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+
+        int[] next = new int[producers];
+        List<String> batch = new ArrayList<>();
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < producers * perProducer && System.nanoTime() < deadline) {
+            ring.drainTo(batch, 256);
+            for (String payload : batch) {
+                String[] parts = payload.split(":");
+                int producer = Integer.parseInt(parts[0]);
+                assertThat(Integer.parseInt(parts[1])).isEqualTo(next[producer]);
+                next[producer]++;
+            }
+            received += batch.size();
+            batch.clear();
+        }
+        executor.shutdownNow();
+
+        assertThat(received).isEqualTo(producers * perProducer);
+    }
+
+    @Test
+    void publisher_DispatchesToHandlerInOrder() throws Exception {
+        List<String> handled = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        InProcessUserEventPublisher publisher = new InProcessUserEventPublisher(payload -> {
+            handled.add(new String(payload, StandardCharsets.UTF_8));
+            done.countDown();
+        }, 8, 2, RingBufferWaitStrategy.PARKING, Duration.ofSeconds(1));
+        publisher.start();
+        try {
+            publisher.publish(1L, bytes("a"));
+            publisher.publish(2L, bytes("b"));
+            publisher.publish(1L, bytes("c"));
+
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(handled).containsExactly("a", "b", "c");
+        } finally {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    void publisher_FailsWhenStoppedAndFull() {
+        InProcessUserEventPublisher publisher = new InProcessUserEventPublisher(
+                payload -> { }, 2, 1, RingBufferWaitStrategy.BUSY_SPIN, Duration.ofMillis(10));
+
+        publisher.publish(1L, bytes("a"));
+        publisher.publish(1L, bytes("b"));
+
+        assertThat(publisher.publish(1L, bytes("c"))).isCompletedExceptionally();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.usermanagement.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.kafka.KafkaContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares end-to-end latency (publish to handler) of the Kafka transport and the
+ * in-process ring buffer for the same stream of user event payloads.
+ * Run with {@code ./gradlew benchmark -Dbenchmark.events=200000}.
+ */
+@Tag("benchmark")
+@Testcontainers
+class UserEventTransportBenchmarkTest {
+
+    private static final int EVENTS = Integer.getInteger("benchmark.events", 50_000);
+    private static final String TOPIC = "user-events-benchmark";
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer("apache/kafka:3.8.0");
+
+    @Test
+    void ringBuffer_DeliversFasterThanKafka() throws Exception {
+        long[] ringLatencies = runRingBuffer();
+        long[] kafkaLatencies = runKafka();
+
+        print("in-process ring", ringLatencies);
+        print("kafka", kafkaLatencies);
+        assertThat(percentile(ringLatencies, 0.5)).isLessThan(percentile(kafkaLatencies, 0.5));
+    }
+
+    private long[] runRingBuffer() throws InterruptedException {
+        long[] latencies = new long[EVENTS];
+        CountDownLatch done = new CountDownLatch(EVENTS);
+        int[] received = new int[1];
+        InProcessUserEventPublisher publisher = new InProcessUserEventPublisher(payload -> {
+            latencies[received[0]++] = System.nanoTime() - Long.parseLong(new String(payload, StandardCharsets.UTF_8));
+            done.countDown();
+        }, 65_536, 256, RingBufferWaitStrategy.YIELDING, Duration.ofSeconds(5));
+        publisher.start();
+        try {
+            for (int i = 0; i < EVENTS; i++) {
+                publisher.publish((long) i, timestamp()).join();
+            }
+            assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            publisher.stop();
+        }
+        return latencies;
+    }
+
+    private long[] runKafka() throws Exception {
+        KafkaTemplate<String, byte[]> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.<String, Object>of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.LINGER_MS_CONFIG, 5)));
+        KafkaUserEventPublisher publisher = new KafkaUserEventPublisher(template, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(publisher, "userEventsTopic", TOPIC);
+
+        long[] latencies = new long[EVENTS];
+        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(Map.<String, Object>of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers(),
+                ConsumerConfig.GROUP_ID_CONFIG, "benchmark",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class))) {
+            consumer.subscribe(List.of(TOPIC));
+            // Join the group before the clock starts.
+            while (consumer.assignment().isEmpty()) {
+                consumer.poll(Duration.ofMillis(100));
+            }
+
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < EVENTS; i++) {
+                    publisher.publish((long) i, timestamp());
+                }
+                template.flush();
+            });
+            producer.start();
+
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+            while (received < EVENTS && System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(100))) {
+                    latencies[received++] = System.nanoTime() - Long.parseLong(record.value());
+                }
+            }
+            producer.join();
+            assertThat(received).isEqualTo(EVENTS);
+        } finally {
+            template.destroy();
+        }
+        return latencies;
+    }
+
+    private static void print(String label, long[] latencies) {
+        System.out.printf("%-16s %d events: p50 %.3f ms, p99 %.3f ms, max %.3f ms%n", label, EVENTS,
+                percentile(latencies, 0.5) / 1e6, percentile(latencies, 0.99) / 1e6,
+                percentile(latencies, 1.0) / 1e6);
+    }
+
+    private static byte[] timestamp() {
+        return Long.toString(System.nanoTime()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long percentile(long[] latencies, double quantile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.usermanagement.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints a per-operation latency table for one scenario and writes it to
+ * {@code <dir>/<scenario>/summary.json}, plus one HdrHistogram percentile
+ * distribution ({@code .hgrm}) per operation for plotting or diffing between runs.
+ * Latencies are recorded in microseconds and reported in milliseconds.
+ */
+final class LoadReport<O extends Enum<O>> {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String scenario;
+    private final double requestsPerSecond;
+    private final OpenModelLoadGenerator.Result<O> result;
+
+    LoadReport(String scenario, double requestsPerSecond, OpenModelLoadGenerator.Result<O> result) {
+        this.scenario = scenario;
+        this.requestsPerSecond = requestsPerSecond;
+        this.result = result;
+    }
+
+    double p99Millis() {
+        return result.total().getValueAtPercentile(99.0) / 1000.0;
+    }
+
+    double errorRate() {
+        long count = result.total().getTotalCount();
+        return count == 0 ? 0.0 : (double) result.totalFailed() / count;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nScenario %s: target %.0f req/s over %.1f s%n", scenario, requestsPerSecond,
+                result.elapsedSeconds());
+        out.printf("%-8s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        result.histograms().forEach((operation, histogram) -> printRow(out, operation.name().toLowerCase(),
+                histogram, result.failed(operation)));
+        printRow(out, "all", result.total(), result.totalFailed());
+    }
+
+    void write(Path directory) throws IOException {
+        Path scenarioDirectory = directory.resolve(scenario);
+        Files.createDirectories(scenarioDirectory);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        result.histograms().forEach((operation, histogram) -> {
+            String name = operation.name().toLowerCase();
+            operations.put(name, summary(histogram, result.failed(operation)));
+            writeDistribution(scenarioDirectory.resolve(name + ".hgrm"), histogram);
+        });
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", scenario);
+        summary.put("targetRequestsPerSecond", requestsPerSecond);
+        summary.put("elapsedSeconds", result.elapsedSeconds());
+        summary.put("all", summary(result.total(), result.totalFailed()));
+        summary.put("operations", operations);
+        JSON.writeValue(scenarioDirectory.resolve("summary.json").toFile(), summary);
+    }
+
+    private Map<String, Object> summary(Histogram histogram, long failed) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        long count = histogram.getTotalCount();
+        values.put("count", count);
+        values.put("errors", failed);
+        values.put("errorRate", count == 0 ? 0.0 : (double) failed / count);
+        values.put("throughput", count / result.elapsedSeconds());
+        values.put("p50Ms", millis(histogram, 50.0));
+        values.put("p90Ms", millis(histogram, 90.0));
+        values.put("p99Ms", millis(histogram, 99.0));
+        values.put("p999Ms", millis(histogram, 99.9));
+        values.put("maxMs", histogram.getMaxValue() / 1000.0);
+        return values;
+    }
+
+    private void printRow(PrintStream out, String label, Histogram histogram, long failed) {
+        out.printf("%-8s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", label, histogram.getTotalCount(), failed,
+                histogram.getTotalCount() / result.elapsedSeconds(), millis(histogram, 50.0),
+                millis(histogram, 90.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write " + file, e);
+        }
+    }
+}
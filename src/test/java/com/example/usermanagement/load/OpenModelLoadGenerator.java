@@ -0,0 +1,138 @@
+package com.example.usermanagement.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are started on a fixed schedule whether or not earlier
+ * ones have finished, each on its own virtual thread. Latency is measured from the
+ * scheduled start, not the actual one, so a stalled server shows up as queueing
+ * delay instead of a lower request rate (no coordinated omission).
+ */
+final class OpenModelLoadGenerator<O extends Enum<O>> {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Class<O> operationType;
+    private final Map<O, Integer> mix;
+    private final int totalWeight;
+    private final Action<O> action;
+
+    OpenModelLoadGenerator(Class<O> operationType, Map<O, Integer> mix, Action<O> action) {
+        this.operationType = operationType;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.action = action;
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Operation mix has no weight: " + mix);
+        }
+    }
+
+    Result<O> run(double requestsPerSecond, Duration duration, long seed) {
+        Result<O> result = new Result<>(operationType, mix);
+        Random random = new Random(seed);
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * periodNanos;
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                O operation = pick(random);
+                executor.execute(() -> execute(operation, scheduled, result));
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private void execute(O operation, long scheduled, Result<O> result) {
+        boolean succeeded;
+        try {
+            succeeded = action.execute(operation);
+        } catch (Exception e) {
+            succeeded = false;
+        }
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+        result.histograms.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        (succeeded ? result.succeeded : result.failed).get(operation).increment();
+    }
+
+    private O pick(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Map.Entry<O, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    // Returns false, or throws, for a failed request.
+    @FunctionalInterface
+    interface Action<O> {
+        boolean execute(O operation) throws Exception;
+    }
+
+    static final class Result<O extends Enum<O>> {
+
+        private final Map<O, Histogram> histograms;
+        private final Map<O, LongAdder> succeeded;
+        private final Map<O, LongAdder> failed;
+        private long elapsedNanos;
+
+        private Result(Class<O> operationType, Map<O, Integer> mix) {
+            histograms = new EnumMap<>(operationType);
+            succeeded = new EnumMap<>(operationType);
+            failed = new EnumMap<>(operationType);
+            for (O operation : mix.keySet()) {
+                histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+                succeeded.put(operation, new LongAdder());
+                failed.put(operation, new LongAdder());
+            }
+        }
+
+        Map<O, Histogram> histograms() {
+            return histograms;
+        }
+
+        long succeeded(O operation) {
+            return succeeded.get(operation).sum();
+        }
+
+        long failed(O operation) {
+            return failed.get(operation).sum();
+        }
+
+        double elapsedSeconds() {
+            return elapsedNanos / 1e9;
+        }
+
+        Histogram total() {
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            histograms.values().forEach(total::add);
+            return total;
+        }
+
+        long totalFailed() {
+            return failed.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
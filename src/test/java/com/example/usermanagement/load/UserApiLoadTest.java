@@ -0,0 +1,224 @@
+package com.example.usermanagement.load;
+
+import com.example.usermanagement.dto.BatchUserRequest;
+import com.example.usermanagement.dto.BatchUserResponse;
+import com.example.usermanagement.dto.UserRequest;
+import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the REST API with an open-model load of mixed {@code UserController} calls
+ * against H2 and an embedded Kafka broker, so it runs offline. Each scenario reports
+ * HdrHistogram latency percentiles, throughput and error rate per operation, and the
+ * run fails when a scenario exceeds {@code loadtest.max-p99-ms} or
+ * {@code loadtest.max-error-rate}.
+ * Run with {@code ./gradlew loadTest -Dloadtest.rate=500 -Dloadtest.max-p99-ms=250}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.enabled=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "app.instance-id=load-test",
+        "logging.level.com.example.usermanagement=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@EmbeddedKafka(partitions = 3, topics = "user-events")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserApiLoadTest {
+
+    enum UserApiOperation {
+        CREATE, GET, LIST, SEARCH, UPDATE, DELETE, STATS
+    }
+
+    // Override any of these with -Dloadtest.mix.<scenario>=create=10,get=50,...
+    private static final Map<String, String> DEFAULT_MIXES = Map.of(
+            "read-heavy", "get=60,list=15,search=15,stats=5,update=5",
+            "mixed", "create=10,get=35,list=15,search=15,update=15,delete=5,stats=5",
+            "write-heavy", "create=40,update=40,delete=15,get=5");
+
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT20S"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT5S"));
+    private static final int SEED_USERS = Integer.getInteger("loadtest.users", 5_000);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private static final String MAX_P99_MS = System.getProperty("loadtest.max-p99-ms");
+    private static final List<String> SCENARIOS =
+            Arrays.asList(System.getProperty("loadtest.scenarios", "read-heavy,mixed,write-heavy").split(","));
+    private static final Path REPORT_DIRECTORY = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final ConcurrentLinkedDeque<Long> createdIds = new ConcurrentLinkedDeque<>();
+    private final List<Long> seededIds = new ArrayList<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seed() throws Exception {
+        for (int offset = 0; offset < SEED_USERS; offset += 1_000) {
+            List<UserRequest> users = new ArrayList<>();
+            for (int i = offset; i < Math.min(SEED_USERS, offset + 1_000); i++) {
+                users.add(userRequest("seed" + i + "@load.test", "Seed" + i));
+            }
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/batch"))
+                    .POST(json(BatchUserRequest.builder().users(users).build())));
+            Long[] ids = new Long[users.size()];
+            for (BatchUserResponse.ItemResult item
+                    : objectMapper.readValue(response.body(), BatchUserResponse.class).getResults()) {
+                ids[item.getIndex()] = item.getId();
+            }
+            seededIds.addAll(Arrays.asList(ids));
+        }
+        // Position i holds the id of seed user i, whose email UPDATE has to keep.
+        assertThat(seededIds).hasSize(SEED_USERS).doesNotContainNull();
+    }
+
+    @Test
+    void scenarios_StayWithinLatencyAndErrorBudgets() throws IOException {
+        SoftAssertions budgets = new SoftAssertions();
+        for (String scenario : SCENARIOS) {
+            Map<UserApiOperation, Integer> mix = parseMix(
+                    System.getProperty("loadtest.mix." + scenario, DEFAULT_MIXES.getOrDefault(scenario, "")));
+            OpenModelLoadGenerator<UserApiOperation> generator =
+                    new OpenModelLoadGenerator<>(UserApiOperation.class, mix, this::execute);
+            generator.run(RATE, WARMUP, SEED);
+            LoadReport<UserApiOperation> report =
+                    new LoadReport<>(scenario, RATE, generator.run(RATE, DURATION, SEED));
+            report.print(System.out);
+            report.write(REPORT_DIRECTORY);
+
+            budgets.assertThat(report.errorRate()).as("%s error rate", scenario).isLessThanOrEqualTo(MAX_ERROR_RATE);
+            if (MAX_P99_MS != null) {
+                budgets.assertThat(report.p99Millis()).as("%s p99 ms", scenario)
+                        .isLessThanOrEqualTo(Double.parseDouble(MAX_P99_MS));
+            }
+        }
+        budgets.assertAll();
+    }
+
+    private boolean execute(UserApiOperation operation) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(seededIds.size());
+        long seededId = seededIds.get(index);
+        return switch (operation) {
+            case CREATE -> create() != null;
+            case GET -> ok(send(HttpRequest.newBuilder(uri("/" + seededId)).GET()));
+            case LIST -> ok(send(HttpRequest.newBuilder(
+                    uri("?size=20&page=" + random.nextInt(Math.max(1, seededIds.size() / 20)))).GET()));
+            case SEARCH -> ok(send(HttpRequest.newBuilder(
+                    uri("/search?size=20&withTotal=false&q=seed" + random.nextInt(SEED_USERS))).GET()));
+            case UPDATE -> {
+                UserRequest request = userRequest("seed" + index + "@load.test", "Seed" + index);
+                request.setCity("City" + random.nextInt(100));
+                yield ok(send(HttpRequest.newBuilder(uri("/" + seededId)).PUT(json(request))));
+            }
+            case DELETE -> {
+                // Only users created by the load are deleted, so GET and UPDATE never hit a 404.
+                Long id = createdIds.pollFirst();
+                if (id == null) {
+                    id = create();
+                }
+                yield id != null && ok(send(HttpRequest.newBuilder(uri("/" + id)).DELETE()));
+            }
+            case STATS -> ok(send(HttpRequest.newBuilder(uri("/stats")).GET()));
+        };
+    }
+
+    private Long create() throws Exception {
+        long n = emailSequence.incrementAndGet();
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri(""))
+                .POST(json(userRequest("load" + n + "@load.test", "Load" + n))));
+        if (!ok(response)) {
+            return null;
+        }
+        Long id = objectMapper.readValue(response.body(), UserResponse.class).getId();
+        createdIds.addLast(id);
+        return id;
+    }
+
+    private static UserRequest userRequest(String email, String lastName) {
+        return UserRequest.builder()
+                .firstName("Load")
+                .lastName(lastName)
+                .email(email)
+                .city("Baku")
+                .country("Azerbaijan")
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .build();
+    }
+
+    private static Map<UserApiOperation, Integer> parseMix(String mix) {
+        Map<UserApiOperation, Integer> weights = new EnumMap<>(UserApiOperation.class);
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("=");
+            weights.put(UserApiOperation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.header("Content-Type", "application/json").build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/v1/users" + path);
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.User;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads synthetic users into PostgreSQL for benchmarks. Every row is derived
+ * from the seed and its index alone, so the same seed always yields the same table,
+ * however the load is split. Values are skewed the way production data is: most
+ * users are {@code USER}/{@code ACTIVE}, cities and names follow a Zipf distribution
+ * (with countries following their cities), and sign-ups grow towards {@link #END}.
+ */
+final class UserDatasetGenerator {
+
+    static final LocalDateTime END = LocalDateTime.of(2025, 1, 1, 0, 0);
+    static final int HISTORY_DAYS = 5 * 365;
+
+    static final List<Location> LOCATIONS = List.of(
+            new Location("New York", "United States"), new Location("London", "United Kingdom"),
+            new Location("Los Angeles", "United States"), new Location("Toronto", "Canada"),
+            new Location("Berlin", "Germany"), new Location("Chicago", "United States"),
+            new Location("Paris", "France"), new Location("Sydney", "Australia"),
+            new Location("Mumbai", "India"), new Location("Sao Paulo", "Brazil"),
+            new Location("Madrid", "Spain"), new Location("Amsterdam", "Netherlands"),
+            new Location("Tokyo", "Japan"), new Location("Houston", "United States"),
+            new Location("Manchester", "United Kingdom"), new Location("Bangalore", "India"),
+            new Location("Munich", "Germany"), new Location("Melbourne", "Australia"),
+            new Location("Vancouver", "Canada"), new Location("Singapore", "Singapore"),
+            new Location("Dublin", "Ireland"), new Location("Stockholm", "Sweden"),
+            new Location("Lisbon", "Portugal"), new Location("Warsaw", "Poland"),
+            new Location("Zurich", "Switzerland"), new Location("Cape Town", "South Africa"),
+            new Location("Auckland", "New Zealand"), new Location("Buenos Aires", "Argentina"),
+            new Location("Oslo", "Norway"), new Location("Reykjavik", "Iceland"));
+
+    static final List<String> LAST_NAMES = List.of(
+            "Smith", "Johnson", "Williams", "Brown", "Garcia", "Miller", "Davis", "Martinez", "Lopez", "Wilson",
+            "Anderson", "Taylor", "Thomas", "Moore", "Jackson", "Martin", "Lee", "Thompson", "White", "Harris",
+            "Clark", "Lewis", "Walker", "Young", "Allen", "King", "Wright", "Scott", "Nguyen", "Kowalski");
+
+    private static final List<String> FIRST_NAMES = List.of(
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Daniel", "Karen",
+            "Matthew", "Nancy", "Anthony", "Lisa", "Mark", "Sofia", "Lucas", "Emma", "Noah", "Olivia");
+
+    private static final List<String> STREETS = List.of(
+            "Main St", "Oak Ave", "Park Rd", "High St", "Station Rd", "Church Ln", "Maple Dr", "Cedar Ct");
+
+    private static final List<String> DOMAINS = List.of("example.com", "mail.example.org", "corp.example.net");
+
+    private static final String COPY_USERS = "COPY users (first_name, last_name, email, phone, address, city, " +
+            "country, postal_code, role, status, bio, avatar_url, created_at, updated_at, last_login_at) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    // Indexes that don't back a constraint; dropping them for the load and building them
+    // afterwards is several times faster than maintaining the GIN index row by row.
+    private static final String SECONDARY_INDEXES = "SELECT indexname, indexdef FROM pg_indexes " +
+            "WHERE tablename = 'users' AND indexname NOT IN " +
+            "(SELECT conname FROM pg_constraint WHERE conrelid = 'users'::regclass)";
+
+    private static final int ROWS_PER_COPY = 1_000_000;
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private static final User.UserRole[] ROLES = {
+            User.UserRole.USER, User.UserRole.DEVELOPER, User.UserRole.ANALYST,
+            User.UserRole.MANAGER, User.UserRole.GUEST, User.UserRole.ADMIN};
+    private static final double[] ROLE_WEIGHTS = cumulative(62, 14, 9, 8, 5, 2);
+
+    private static final User.UserStatus[] STATUSES = {
+            User.UserStatus.ACTIVE, User.UserStatus.INACTIVE, User.UserStatus.PENDING, User.UserStatus.SUSPENDED};
+    private static final double[] STATUS_WEIGHTS = cumulative(80, 11, 6, 3);
+
+    private static final double[] LOCATION_WEIGHTS = zipf(LOCATIONS.size(), 1.1);
+    private static final double[] FIRST_NAME_WEIGHTS = zipf(FIRST_NAMES.size(), 0.8);
+    private static final double[] LAST_NAME_WEIGHTS = zipf(LAST_NAMES.size(), 1.0);
+    private static final double[] DOMAIN_WEIGHTS = cumulative(70, 20, 10);
+
+    private final DataSource dataSource;
+    private final long seed;
+
+    UserDatasetGenerator(DataSource dataSource, long seed) {
+        this.dataSource = dataSource;
+        this.seed = seed;
+    }
+
+    GeneratedUser user(long index) {
+        SplittableRandom random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+        String firstName = FIRST_NAMES.get(pick(FIRST_NAME_WEIGHTS, random));
+        String lastName = LAST_NAMES.get(pick(LAST_NAME_WEIGHTS, random));
+        Location location = LOCATIONS.get(pick(LOCATION_WEIGHTS, random));
+        User.UserRole role = ROLES[pick(ROLE_WEIGHTS, random)];
+        User.UserStatus status = STATUSES[pick(STATUS_WEIGHTS, random)];
+
+        // sqrt skews sign-ups towards END: the last day sees twice the average volume.
+        long historySeconds = HISTORY_DAYS * 86_400L;
+        LocalDateTime createdAt = END.minusSeconds(historySeconds)
+                .plusSeconds((long) (Math.sqrt(random.nextDouble()) * historySeconds));
+        long sinceCreated = Duration.between(createdAt, END).toSeconds();
+        LocalDateTime updatedAt = random.nextInt(100) < 40
+                ? createdAt.plusSeconds((long) (random.nextDouble() * sinceCreated))
+                : createdAt;
+        LocalDateTime lastLoginAt = status == User.UserStatus.PENDING || random.nextInt(100) < 10
+                ? null
+                : END.minusSeconds((long) (Math.pow(random.nextDouble(), 3) * sinceCreated));
+
+        return new GeneratedUser(
+                firstName,
+                lastName,
+                email(firstName, lastName, index, DOMAINS.get(pick(DOMAIN_WEIGHTS, random))),
+                random.nextInt(100) < 85 ? "+1" + (2_000_000_000L + random.nextLong(8_000_000_000L)) : null,
+                random.nextInt(100) < 70
+                        ? (1 + random.nextInt(9_999)) + " " + STREETS.get(random.nextInt(STREETS.size()))
+                        : null,
+                location.city(),
+                location.country(),
+                Integer.toString(100_000 + random.nextInt(100_000)).substring(1),
+                role,
+                status,
+                random.nextInt(100) < 30 ? bio(firstName, role, location, random) : null,
+                random.nextInt(100) < 60 ? "https://cdn.example.com/avatars/" + index + ".png" : null,
+                createdAt,
+                updatedAt,
+                lastLoginAt);
+    }
+
+    /**
+     * Appends the users with indexes {@code [fromIndex, toIndex)}, then rebuilds the
+     * secondary indexes and refreshes the planner statistics.
+     */
+    void load(long fromIndex, long toIndex) {
+        if (toIndex <= fromIndex) {
+            return;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Map<String, String> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query(SECONDARY_INDEXES, rs -> {
+            indexes.put(rs.getString("indexname"), rs.getString("indexdef"));
+        });
+        indexes.keySet().forEach(name -> jdbcTemplate.execute("DROP INDEX " + name));
+
+        long start = System.nanoTime();
+        for (long from = fromIndex; from < toIndex; from += ROWS_PER_COPY) {
+            copy(from, Math.min(toIndex, from + ROWS_PER_COPY));
+        }
+        long copied = System.nanoTime();
+
+        jdbcTemplate.execute("SET maintenance_work_mem = '512MB'");
+        indexes.values().forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+        System.out.printf("generated users %d..%d (seed %d): copy %.1f s, indexes %.1f s%n",
+                fromIndex, toIndex, seed, (copied - start) / 1e9, (System.nanoTime() - copied) / 1e9);
+    }
+
+    private void copy(long fromIndex, long toIndex) {
+        try (Connection connection = dataSource.getConnection()) {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_USERS);
+            try {
+                StringBuilder csv = new StringBuilder(FLUSH_BYTES + 1024);
+                for (long index = fromIndex; index < toIndex; index++) {
+                    user(index).appendCsv(csv);
+                    if (csv.length() >= FLUSH_BYTES) {
+                        write(copyIn, csv);
+                    }
+                }
+                write(copyIn, csv);
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY of generated users " + fromIndex + ".." + toIndex + " failed", e);
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder csv) throws SQLException {
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        csv.setLength(0);
+    }
+
+    // The index keeps emails unique however often a name repeats.
+    static String email(String firstName, String lastName, long index, String domain) {
+        return (firstName + "." + lastName + "." + index + "@" + domain).toLowerCase();
+    }
+
+    private static String bio(String firstName, User.UserRole role, Location location, SplittableRandom random) {
+        String bio = firstName + " works as " + role.name().toLowerCase() + " out of " + location.city() + ".";
+        return random.nextBoolean() ? bio + " Interested in distributed systems, data and coffee." : bio;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        int slot = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(slot >= 0 ? slot + 1 : -slot - 1, cumulative.length - 1);
+    }
+
+    private static double[] zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+        }
+        return cumulative(weights);
+    }
+
+    private static double[] cumulative(double... weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cumulative = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cumulative[i] = running / total;
+        }
+        return cumulative;
+    }
+
+    record Location(String city, String country) {
+    }
+
+    record GeneratedUser(
+            String firstName,
+            String lastName,
+            String email,
+            String phone,
+            String address,
+            String city,
+            String country,
+            String postalCode,
+            User.UserRole role,
+            User.UserStatus status,
+            String bio,
+            String avatarUrl,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            LocalDateTime lastLoginAt
+    ) {
+
+        // In COPY's CSV format an unquoted empty field is NULL. No generated value
+        // contains a quote, so non-null values are quoted without escaping.
+        void appendCsv(StringBuilder csv) {
+            appendField(csv, firstName).append(',');
+            appendField(csv, lastName).append(',');
+            appendField(csv, email).append(',');
+            appendField(csv, phone).append(',');
+            appendField(csv, address).append(',');
+            appendField(csv, city).append(',');
+            appendField(csv, country).append(',');
+            appendField(csv, postalCode).append(',');
+            appendField(csv, role.name()).append(',');
+            appendField(csv, status.name()).append(',');
+            appendField(csv, bio).append(',');
+            appendField(csv, avatarUrl).append(',');
+            appendField(csv, createdAt).append(',');
+            appendField(csv, updatedAt).append(',');
+            appendField(csv, lastLoginAt).append('\n');
+        }
+
+        private static StringBuilder appendField(StringBuilder csv, Object value) {
+            return value == null ? csv : csv.append('"').append(value).append('"');
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.entity.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares a page of users loaded as managed entities and mapped with
+ * {@code UserResponse.fromEntity} against the projected read path, with all
+ * columns and without {@code bio}/{@code avatarUrl}. Reports latency and bytes
+ * allocated per page.
+ * Run with {@code ./gradlew benchmark -Dbenchmark.users=1000000}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserProjectionBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 200_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.page-size", 100);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        new JdbcTemplate(dataSource).update("INSERT INTO users " +
+                "(first_name, last_name, email, phone, city, country, role, status, bio, avatar_url) " +
+                "SELECT 'F' || g, 'L' || g, 'user' || g || '@example.com', '+1555' || g, 'City ' || (g % 500), " +
+                "'Country ' || (g % 50), CASE WHEN g % 20 = 0 THEN 'ADMIN' ELSE 'USER' END, 'ACTIVE', " +
+                "repeat(md5(g::text), 12), 'https://cdn.example.com/avatars/' || md5(g::text) || '.png' " +
+                "FROM generate_series(1, ?) AS g", USERS);
+    }
+
+    @Test
+    void projectedPage_AllocatesLessThanEntityPage() {
+        PageRequest pageable = PageRequest.of(USERS / PAGE_SIZE / 2, PAGE_SIZE, Sort.by("id"));
+        Set<UserField> summary = EnumSet.complementOf(EnumSet.of(UserField.BIO, UserField.AVATAR_URL));
+
+        Supplier<List<UserResponse>> entities = () -> userRepository.findByRole(User.UserRole.USER, pageable)
+                .getContent().stream()
+                .map(UserResponse::fromEntity)
+                .collect(Collectors.toList());
+        Supplier<List<UserResponse>> projected = () -> userRepository.findResponses(
+                UserSpecifications.hasRole(User.UserRole.USER), pageable, UserField.all()).getContent();
+        Supplier<List<UserResponse>> projectedSummary = () -> userRepository.findResponses(
+                UserSpecifications.hasRole(User.UserRole.USER), pageable, summary).getContent();
+
+        assertThat(inTransaction(projected)).extracting(UserResponse::getId)
+                .isEqualTo(inTransaction(entities).stream().map(UserResponse::getId).toList());
+
+        Result entityResult = measure(entities);
+        Result projectedResult = measure(projected);
+        Result summaryResult = measure(projectedSummary);
+
+        System.out.printf("page of %d over %d users:%n", PAGE_SIZE, USERS);
+        entityResult.print("entity + fromEntity");
+        projectedResult.print("projection, all fields");
+        summaryResult.print("projection, no bio/avatar");
+        assertThat(projectedResult.bytes).isLessThan(entityResult.bytes);
+        assertThat(summaryResult.bytes).isLessThan(projectedResult.bytes);
+    }
+
+    private Result measure(Supplier<List<UserResponse>> page) {
+        inTransaction(page);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            inTransaction(page);
+        }
+        long nanos = (System.nanoTime() - start) / ITERATIONS;
+        long bytes = (threads.getThreadAllocatedBytes(threadId) - bytesBefore) / ITERATIONS;
+        return new Result(nanos, bytes);
+    }
+
+    private List<UserResponse> inTransaction(Supplier<List<UserResponse>> page) {
+        return readOnly.execute(status -> page.get());
+    }
+
+    private record Result(long nanos, long bytes) {
+
+        void print(String label) {
+            System.out.printf("  %-28s %8.2f ms %10d bytes/page%n", label, nanos / 1e6, bytes);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Times every read query of {@link UserRepository} against tables of increasing size
+ * built by {@link UserDatasetGenerator}. For each query it reports p50/p95 latency and,
+ * per SQL statement, the rows returned, the rows the scans read (including those a
+ * filter threw away), shared buffers touched and the plan shape. Plans come from
+ * {@code auto_explain}, so they are the ones Hibernate's own statements actually ran.
+ * Run with {@code ./gradlew benchmark --tests UserRepositoryBenchmarkTest -Dbenchmark.sizes=1000000,10000000}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserRepositoryBenchmarkTest {
+
+    private static final List<Integer> SIZES = Arrays.stream(
+                    System.getProperty("benchmark.sizes", "100000,1000000").split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .sorted()
+            .toList();
+    private static final long SEED = Long.getLong("benchmark.seed", 42L);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+    // Queries that read the whole table get fewer runs so large sizes finish in reasonable time.
+    private static final int SCAN_ITERATIONS = Integer.getInteger("benchmark.scan-iterations", 3);
+    private static final Duration LOG_TIMEOUT = Duration.ofSeconds(10);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            // auto_explain stays silent until a transaction opts in with SET LOCAL.
+            .withCommand("postgres", "-c", "fsync=off",
+                    "-c", "shared_preload_libraries=auto_explain",
+                    "-c", "auto_explain.log_format=json");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private UserDatasetGenerator generator;
+    private long generated;
+    private int logOffset;
+    private int explainRuns;
+
+    @BeforeAll
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        generator = new UserDatasetGenerator(dataSource, SEED);
+    }
+
+    Stream<Integer> sizes() {
+        return SIZES.stream();
+    }
+
+    // Sizes run in ascending order, each one appending to the rows the previous one generated.
+    @ParameterizedTest(name = "{0} users")
+    @MethodSource("sizes")
+    void repositoryQueries(int size) {
+        generator.load(generated, size);
+        generated = size;
+
+        System.out.printf("%nUserRepository over %d generated users (seed %d):%n", size, SEED);
+        System.out.printf("  %-40s %9s %9s %10s %12s %10s  %s%n",
+                "query", "p50 ms", "p95 ms", "rows", "scanned", "buffers", "plan");
+        List<BenchmarkQuery> queries = queries(size);
+        for (BenchmarkQuery query : queries) {
+            List<StatementPlan> plans = explain(query);
+            long[] nanos = measure(query);
+            print(query, nanos, plans);
+            query.check().accept(plans);
+        }
+    }
+
+    private List<BenchmarkQuery> queries(int size) {
+        PageRequest firstPage = PageRequest.of(0, 20, Sort.by("id"));
+        PageRequest middlePage = PageRequest.of(size / 40, 20, Sort.by("id"));
+        UserDatasetGenerator.GeneratedUser sample = generator.user(size / 2);
+        Long sampleId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, sample.email());
+        List<String> emails = LongStream.range(0, 100)
+                .mapToObj(i -> generator.user(i * size / 100).email())
+                .toList();
+        UserDatasetGenerator.Location topLocation = UserDatasetGenerator.LOCATIONS.get(0);
+        UserDatasetGenerator.Location tailLocation =
+                UserDatasetGenerator.LOCATIONS.get(UserDatasetGenerator.LOCATIONS.size() - 1);
+        String rareTerm = sample.email().substring(0, sample.email().indexOf('@'));
+        String commonTerm = UserDatasetGenerator.LAST_NAMES.get(0).toLowerCase();
+
+        return List.of(
+                scan("count", () -> userRepository.count()),
+                query("findById", () -> userRepository.findById(sampleId))
+                        .expect(plans -> assertThat(plans.get(0).rowsScanned()).isLessThanOrEqualTo(1)),
+                query("findByEmail", () -> userRepository.findByEmail(sample.email()))
+                        .expect(plans -> assertThat(plans.get(0).rowsScanned()).isLessThanOrEqualTo(1)),
+                query("existsByEmail", () -> userRepository.existsByEmail(sample.email())),
+                query("findExistingEmails(100)", () -> userRepository.findExistingEmails(emails)),
+                query("findByRole(ADMIN)", () -> userRepository.findByRole(User.UserRole.ADMIN)),
+                query("findByRole(USER, page)", () -> userRepository.findByRole(User.UserRole.USER, firstPage)),
+                query("findByStatus(SUSPENDED)", () -> userRepository.findByStatus(User.UserStatus.SUSPENDED)),
+                query("findByStatus(ACTIVE, page)",
+                        () -> userRepository.findByStatus(User.UserStatus.ACTIVE, firstPage)),
+                query("findResponseSlice(all, first page)", () -> userRepository.findResponseSlice(
+                        UserSpecifications.all(), firstPage, UserField.all())),
+                query("findResponseSlice(all, middle page)", () -> userRepository.findResponseSlice(
+                        UserSpecifications.all(), middlePage, UserField.all())),
+                query("findResponseSlice(MANAGER)", () -> userRepository.findResponseSlice(
+                        UserSpecifications.hasRole(User.UserRole.MANAGER), firstPage, UserField.all())),
+                query("findResponseSlice(PENDING)", () -> userRepository.findResponseSlice(
+                        UserSpecifications.hasStatus(User.UserStatus.PENDING), firstPage, UserField.all())),
+                query("findUsersCreatedAfter(last day)",
+                        () -> userRepository.findUsersCreatedAfter(UserDatasetGenerator.END.minusDays(1))),
+                query("findByRoleAndStatus(MANAGER, ACTIVE)", () -> userRepository.findByRoleAndStatus(
+                        User.UserRole.MANAGER, User.UserStatus.ACTIVE, firstPage)),
+                query("findByRoleAndStatus(ADMIN, SUSPENDED)", () -> userRepository.findByRoleAndStatus(
+                        User.UserRole.ADMIN, User.UserStatus.SUSPENDED, firstPage)),
+                scan("countByStatus(ACTIVE)", () -> userRepository.countByStatus(User.UserStatus.ACTIVE)),
+                query("countByRole(ADMIN)", () -> userRepository.countByRole(User.UserRole.ADMIN)),
+                scan("countGroupedByRoleAndStatus", () -> userRepository.countGroupedByRoleAndStatus()),
+                scan("countGroupedByCountry", () -> userRepository.countGroupedByCountry()),
+                scan("countGroupedByCreatedDay", () -> userRepository.countGroupedByCreatedDay()),
+                query("findByCity(" + tailLocation.city() + ")",
+                        () -> userRepository.findByCity(tailLocation.city())),
+                query("findByCountry(" + tailLocation.country() + ")",
+                        () -> userRepository.findByCountry(tailLocation.country())),
+                scan("streamSuggestions", () -> userRepository.streamSuggestions()),
+                query("streamUsers(ADMIN)", () -> userRepository.streamUsers(
+                        UserSpecifications.hasRole(User.UserRole.ADMIN), 1000)),
+                query("findIdRange(SUSPENDED)",
+                        () -> userRepository.findIdRange(UserSpecifications.hasStatus(User.UserStatus.SUSPENDED))),
+                query("scrollUsers(USER)", () -> userRepository.scrollUsers(
+                        UserSpecifications.hasRole(User.UserRole.USER), Sort.by("id"), 20, ScrollPosition.keyset())),
+                query("findAll(" + topLocation.city() + ", page)", () -> userRepository.findAll(
+                        UserSpecifications.hasCity(topLocation.city()), firstPage)),
+                query("searchUsers(rare)", () -> userRepository.searchUsers(rareTerm, firstPage))
+                        .expect(plans -> assertThat(plans).anySatisfy(plan ->
+                                assertThat(plan.shape()).contains("idx_users_search_text_trgm"))),
+                query("searchUsers(common)", () -> userRepository.searchUsers(commonTerm, firstPage)),
+                query("searchUsersAsSlice(common)", () -> userRepository.searchUsersAsSlice(commonTerm, firstPage)),
+                query("findResponses(USER, page)", () -> userRepository.findResponses(
+                        UserSpecifications.hasRole(User.UserRole.USER), firstPage, UserField.all())),
+                query("findResponseSlice(USER)", () -> userRepository.findResponseSlice(
+                        UserSpecifications.hasRole(User.UserRole.USER), firstPage, UserField.all())),
+                query("findResponses(" + tailLocation.city() + ", sorted)", () -> userRepository.findResponses(
+                        UserSpecifications.hasCity(tailLocation.city()), Sort.by("id"), UserField.all())));
+    }
+
+    private long[] measure(BenchmarkQuery query) {
+        long[] nanos = new long[query.iterations()];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            readOnly.execute(status -> rows(query.call().get()));
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    // Runs the query once with auto_explain switched on for its transaction, then reads
+    // the logged plans back from the container log up to a marker statement.
+    private List<StatementPlan> explain(BenchmarkQuery query) {
+        String marker = "repository-benchmark-" + ++explainRuns;
+        readOnly.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL auto_explain.log_min_duration = 0");
+            jdbcTemplate.execute("SET LOCAL auto_explain.log_analyze = on");
+            jdbcTemplate.execute("SET LOCAL auto_explain.log_buffers = on");
+            rows(query.call().get());
+            return jdbcTemplate.queryForObject("SELECT '" + marker + "'", String.class);
+        });
+
+        long deadline = System.nanoTime() + LOG_TIMEOUT.toNanos();
+        String logs = postgres.getLogs();
+        while (logs.indexOf(marker, logOffset) < 0) {
+            if (System.nanoTime() > deadline) {
+                fail("auto_explain output for " + query.name() + " never reached the container log");
+            }
+            sleep();
+            logs = postgres.getLogs();
+        }
+        List<StatementPlan> plans = parsePlans(logs.substring(logOffset), marker);
+        logOffset = logs.length();
+        assertThat(plans).as("plans of %s", query.name()).isNotEmpty();
+        return plans;
+    }
+
+    // A plan is logged as "LOG:  duration: 1.234 ms  plan:" followed by the JSON document,
+    // every line of which the server log indents with a tab.
+    private List<StatementPlan> parsePlans(String logs, String marker) {
+        List<StatementPlan> plans = new ArrayList<>();
+        String[] lines = logs.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            int durationAt = lines[i].indexOf("duration: ");
+            if (durationAt < 0 || !lines[i].stripTrailing().endsWith("plan:")) {
+                continue;
+            }
+            double millis = Double.parseDouble(lines[i].substring(durationAt + 10, lines[i].indexOf(" ms", durationAt)));
+            StringBuilder json = new StringBuilder();
+            while (i + 1 < lines.length && lines[i + 1].startsWith("\t")) {
+                i++;
+                json.append(lines[i].substring(1)).append('\n');
+            }
+            JsonNode document = readTree(json.toString());
+            if (document.path("Query Text").asText().contains(marker)) {
+                break;
+            }
+            plans.add(StatementPlan.of(millis, document.path("Plan")));
+        }
+        return plans;
+    }
+
+    private void print(BenchmarkQuery query, long[] nanos, List<StatementPlan> plans) {
+        for (int i = 0; i < plans.size(); i++) {
+            StatementPlan plan = plans.get(i);
+            System.out.printf("  %-40s %9s %9s %10d %12d %10d  %s%n",
+                    i == 0 ? query.name() : "",
+                    i == 0 ? String.format("%.2f", percentile(nanos, 0.50) / 1e6) : "",
+                    i == 0 ? String.format("%.2f", percentile(nanos, 0.95) / 1e6) : "",
+                    plan.rowsReturned(), plan.rowsScanned(), plan.buffers(), plan.shape());
+        }
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable auto_explain plan: " + json, e);
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    // Consumes the result inside the transaction, so streams and lazy pages do their work while timed.
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Stream<?> stream) {
+            try (stream) {
+                return stream.count();
+            }
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BenchmarkQuery query(String name, Supplier<Object> call) {
+        return new BenchmarkQuery(name, call, ITERATIONS, plans -> { });
+    }
+
+    private static BenchmarkQuery scan(String name, Supplier<Object> call) {
+        return new BenchmarkQuery(name, call, SCAN_ITERATIONS, plans -> { });
+    }
+
+    private record BenchmarkQuery(
+            String name,
+            Supplier<Object> call,
+            int iterations,
+            Consumer<List<StatementPlan>> check
+    ) {
+
+        BenchmarkQuery expect(Consumer<List<StatementPlan>> expectation) {
+            return new BenchmarkQuery(name, call, iterations, expectation);
+        }
+    }
+
+    /**
+     * One executed statement. {@code rowsScanned} adds up what every table scan read,
+     * filtered-out rows included, so a selective query running on a sequential scan
+     * shows up even when it returns few rows.
+     */
+    private record StatementPlan(double millis, long rowsReturned, long rowsScanned, long buffers, String shape) {
+
+        static StatementPlan of(double millis, JsonNode plan) {
+            return new StatementPlan(
+                    millis,
+                    plan.path("Actual Rows").asLong() * plan.path("Actual Loops").asLong(1),
+                    rowsScanned(plan),
+                    plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong(),
+                    shape(plan));
+        }
+
+        private static long rowsScanned(JsonNode node) {
+            long rows = 0;
+            if (node.has("Relation Name")) {
+                rows = (node.path("Actual Rows").asLong()
+                        + node.path("Rows Removed by Filter").asLong()
+                        + node.path("Rows Removed by Index Recheck").asLong())
+                        * node.path("Actual Loops").asLong(1);
+            }
+            for (JsonNode child : node.path("Plans")) {
+                rows += rowsScanned(child);
+            }
+            return rows;
+        }
+
+        // e.g. "Limit(Index Scan idx_role)" or "Aggregate(Gather(Aggregate(Seq Scan users)))".
+        private static String shape(JsonNode node) {
+            String label = node.path("Node Type").asText();
+            if (node.has("Index Name")) {
+                label += " " + node.path("Index Name").asText();
+            } else if (node.has("Relation Name")) {
+                label += " " + node.path("Relation Name").asText();
+            }
+            List<String> children = new ArrayList<>();
+            for (JsonNode child : node.path("Plans")) {
+                children.add(shape(child));
+            }
+            return children.isEmpty() ? label : label + children.stream().collect(Collectors.joining(", ", "(", ")"));
+        }
+    }
+}
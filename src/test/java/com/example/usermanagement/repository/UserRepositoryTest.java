@@ -1,5 +1,7 @@
 package com.example.usermanagement.repository;
 
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserResponse;
 import com.example.usermanagement.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,8 +9,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -63,6 +73,13 @@ class UserRepositoryTest {
         assertThat(exists).isFalse();
     }
 
+    @Test
+    void findExistingEmails_ReturnsOnlyTakenEmails() {
+        var existing = userRepository.findExistingEmails(List.of("john.doe@test.com", "new.user@test.com"));
+
+        assertThat(existing).containsExactly("john.doe@test.com");
+    }
+
     @Test
     void findByRole_Success() {
         var users = userRepository.findByRole(User.UserRole.USER);
@@ -87,6 +104,23 @@ class UserRepositoryTest {
         assertThat(result.getContent().get(0).getFirstName()).isEqualTo("John");
     }
 
+    @Test
+    void searchUsers_TreatsWildcardsLiterally() {
+        userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane_100%@test.com")
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .build());
+
+        assertThat(userRepository.searchUsers("_100%", PageRequest.of(0, 10)).getContent())
+                .extracting(User::getEmail)
+                .containsExactly("jane_100%@test.com");
+        assertThat(userRepository.count(UserSpecifications.matchesSearchTerm("%"))).isEqualTo(1);
+        assertThat(userRepository.count(UserSpecifications.matchesSearchTerm("doe"))).isEqualTo(2);
+    }
+
     @Test
     void countByStatus_Success() {
         long count = userRepository.countByStatus(User.UserStatus.ACTIVE);
@@ -101,6 +135,20 @@ class UserRepositoryTest {
         assertThat(count).isEqualTo(1);
     }
 
+    @Test
+    void countGroupedQueries_ReturnOneRowPerGroup() {
+        var byRoleAndStatus = userRepository.countGroupedByRoleAndStatus();
+        var byCountry = userRepository.countGroupedByCountry();
+        var byDay = userRepository.countGroupedByCreatedDay();
+
+        assertThat(byRoleAndStatus).hasSize(1);
+        assertThat(byRoleAndStatus.get(0).getRole()).isEqualTo(User.UserRole.USER);
+        assertThat(byRoleAndStatus.get(0).getCount()).isEqualTo(1L);
+        assertThat(byCountry.get(0).getCountry()).isEqualTo("USA");
+        assertThat(byDay).hasSize(1);
+        assertThat(byDay.get(0).getCount()).isEqualTo(1L);
+    }
+
     @Test
     void findByCity_Success() {
         var users = userRepository.findByCity("New York");
@@ -116,4 +164,80 @@ class UserRepositoryTest {
         assertThat(users).hasSize(1);
         assertThat(users.get(0).getCountry()).isEqualTo("USA");
     }
+
+    @Test
+    void findResponses_ProjectsOnlySelectedFields() {
+        Page<UserResponse> page = userRepository.findResponses(UserSpecifications.hasRole(User.UserRole.USER),
+                PageRequest.of(0, 10, Sort.by("email")), EnumSet.of(UserField.FIRST_NAME));
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        UserResponse response = page.getContent().get(0);
+        assertThat(response.getId()).isEqualTo(testUser.getId());
+        assertThat(response.getFirstName()).isEqualTo("John");
+        assertThat(response.getEmail()).isEqualTo("john.doe@test.com");
+        assertThat(response.getCity()).isNull();
+        assertThat(response.getBio()).isNull();
+    }
+
+    @Test
+    void findResponseSlice_DetectsNextSliceWithoutCount() {
+        userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@test.com")
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .build());
+
+        Slice<UserResponse> first = userRepository.findResponseSlice(
+                UserSpecifications.all(), PageRequest.of(0, 1, Sort.by("id")), UserField.all());
+        Slice<UserResponse> second = userRepository.findResponseSlice(
+                UserSpecifications.all(), PageRequest.of(1, 1, Sort.by("id")), UserField.all());
+
+        assertThat(first.getContent()).extracting(UserResponse::getEmail).containsExactly("john.doe@test.com");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(UserResponse::getEmail).containsExactly("jane.doe@test.com");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void scrollUsers_SeeksPastLastKey() {
+        User jane = userRepository.save(User.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@test.com")
+                .role(User.UserRole.ADMIN)
+                .status(User.UserStatus.ACTIVE)
+                .build());
+        userRepository.save(User.builder()
+                .firstName("Jim")
+                .lastName("Doe")
+                .email("jim.doe@test.com")
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .build());
+
+        Sort sort = Sort.by("id");
+        Window<User> first = userRepository.scrollUsers(
+                UserSpecifications.all(), sort, 2, ScrollPosition.keyset());
+
+        assertThat(first.getContent()).extracting(User::getEmail)
+                .containsExactly("john.doe@test.com", "jane.doe@test.com");
+        assertThat(first.hasNext()).isTrue();
+
+        Window<User> second = userRepository.scrollUsers(
+                UserSpecifications.all(), sort, 2, ScrollPosition.forward(Map.of("id", jane.getId())));
+
+        assertThat(second.getContent()).extracting(User::getEmail).containsExactly("jim.doe@test.com");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void scrollUsers_AppliesSpecification() {
+        Window<User> window = userRepository.scrollUsers(
+                UserSpecifications.matchesSearchTerm("JOHN"), Sort.by("id"), 10, ScrollPosition.keyset());
+
+        assertThat(window.getContent()).hasSize(1);
+        assertThat(window.getContent().get(0).getFirstName()).isEqualTo("John");
+    }
 }
@@ -0,0 +1,115 @@
+package com.example.usermanagement.repository;
+
+import com.example.usermanagement.entity.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the trigram-indexed search against the previous per-column
+ * {@code LOWER(...) LIKE} query on a seeded PostgreSQL table.
+ * Run with {@code ./gradlew benchmark -Dbenchmark.users=1000000}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserSearchBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 200_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+
+    private static final String LEGACY_SEARCH = "SELECT * FROM users WHERE " +
+            "LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? OR LOWER(email) LIKE ? " +
+            "ORDER BY id LIMIT 20";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private String searchTerm;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, role, status) " +
+                "SELECT 'F' || substr(md5(g::text), 1, 10), 'L' || substr(md5((g * 7)::text), 1, 12), " +
+                "'user' || g || '@example.com', 'USER', 'ACTIVE' " +
+                "FROM generate_series(1, ?) AS g", USERS);
+        jdbcTemplate.execute("ANALYZE users");
+        searchTerm = jdbcTemplate.queryForObject("SELECT substr(md5((? / 2)::text), 3, 6)", String.class, USERS);
+    }
+
+    @Test
+    void trigramSearch_UsesIndexAndBeatsLegacyQuery() {
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("id"));
+        String pattern = "%" + searchTerm + "%";
+
+        Page<User> result = userRepository.searchUsers(searchTerm, pageable);
+        List<Long> legacyIds = jdbcTemplate.queryForList(
+                LEGACY_SEARCH.replace("SELECT *", "SELECT id"), Long.class, pattern, pattern, pattern);
+        assertThat(result.getContent()).extracting(User::getId).isEqualTo(legacyIds);
+
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM users WHERE search_text LIKE ?", String.class, pattern);
+        assertThat(String.join("\n", plan)).contains("idx_users_search_text_trgm");
+
+        long trigramNanos = time(() -> userRepository.searchUsers(searchTerm, pageable));
+        long legacyNanos = time(() -> jdbcTemplate.queryForList(LEGACY_SEARCH, pattern, pattern, pattern));
+
+        System.out.printf("search over %d users: trigram %.2f ms, legacy %.2f ms, speedup %.1fx%n",
+                USERS, trigramNanos / 1e6, legacyNanos / 1e6, (double) legacyNanos / trigramNanos);
+        assertThat(trigramNanos).isLessThan(legacyNanos);
+    }
+
+    private long time(Runnable query) {
+        query.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.dto.UserSuggestion;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserAutocompleteIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserAutocompleteIndex userAutocompleteIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.streamSuggestions()).thenReturn(Stream.of(
+                new UserSuggestion(1L, "John", "Doe", "john.doe@example.com", 1L),
+                new UserSuggestion(2L, "Jane", "Smith", "jane.smith@example.com", 1L),
+                new UserSuggestion(3L, "Zoë", "Jonas", "zoe@example.com", 1L)
+        ));
+        userAutocompleteIndex.build();
+    }
+
+    @Test
+    void suggest_MatchesAnyNameOrEmailPrefix() {
+        assertThat(userAutocompleteIndex.suggest("Jo", 10))
+                .extracting(UserSuggestion::getId)
+                .containsExactlyInAnyOrder(1L, 3L);
+        assertThat(userAutocompleteIndex.suggest("jane.s", 10))
+                .extracting(UserSuggestion::getId)
+                .containsExactly(2L);
+        assertThat(userAutocompleteIndex.suggest("john d", 10))
+                .extracting(UserSuggestion::getId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void suggest_IgnoresCaseAndDiacritics() {
+        assertThat(userAutocompleteIndex.suggest("ZOE", 10))
+                .extracting(UserSuggestion::getId)
+                .containsExactly(3L);
+    }
+
+    @Test
+    void suggest_RespectsLimit() {
+        assertThat(userAutocompleteIndex.suggest("j", 2)).hasSize(2);
+        assertThat(userAutocompleteIndex.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void onUserEvent_UpdatedAndDeleted_KeepsIndexCurrent() {
+        userAutocompleteIndex.onUserEvent(event(UserEventDTO.EventType.USER_UPDATED, 1L, "Johnny", "Walker"));
+
+        assertThat(userAutocompleteIndex.suggest("doe", 10)).isEmpty();
+        assertThat(userAutocompleteIndex.suggest("walk", 10))
+                .extracting(UserSuggestion::getFirstName)
+                .containsExactly("Johnny");
+
+        userAutocompleteIndex.onUserEvent(event(UserEventDTO.EventType.USER_DELETED, 1L, "Johnny", "Walker"));
+
+        assertThat(userAutocompleteIndex.suggest("walk", 10)).isEmpty();
+        assertThat(userAutocompleteIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    void onUserEvent_DeltaUpdate_MergesChangedFieldsIntoSuggestion() {
+        userAutocompleteIndex.onUserEvent(UserEventDTO.updated(janeAt(2L), List.of(
+                new UserFieldChange(UserField.LAST_NAME, "Smith", "Taylor"),
+                new UserFieldChange(UserField.CITY, null, "Oslo"))));
+
+        assertThat(userAutocompleteIndex.suggest("smith", 10)).isEmpty();
+        assertThat(userAutocompleteIndex.suggest("taylor", 10))
+                .extracting(UserSuggestion::getFirstName, UserSuggestion::getEmail)
+                .containsExactly(tuple("Jane", "jane.smith@example.com"));
+    }
+
+    @Test
+    void onUserEvent_DeltasInReverseOrder_ReloadsRowAndIgnoresLateDelta() {
+        when(userRepository.findSuggestionById(2L)).thenReturn(Optional.of(
+                new UserSuggestion(2L, "Jane", "Brown", "jane.smith@example.com", 3L)));
+        UserEventDTO toTaylor = UserEventDTO.updated(janeAt(2L),
+                List.of(new UserFieldChange(UserField.LAST_NAME, "Smith", "Taylor")));
+        UserEventDTO toBrown = UserEventDTO.updated(janeAt(3L),
+                List.of(new UserFieldChange(UserField.LAST_NAME, "Taylor", "Brown")));
+
+        userAutocompleteIndex.onUserEvent(toBrown);
+        userAutocompleteIndex.onUserEvent(toTaylor);
+
+        assertThat(userAutocompleteIndex.suggest("taylor", 10)).isEmpty();
+        assertThat(userAutocompleteIndex.suggest("brown", 10))
+                .extracting(UserSuggestion::getId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void onUserEvent_RedeliveredDelta_IsIgnored() {
+        UserEventDTO toTaylor = UserEventDTO.updated(janeAt(2L),
+                List.of(new UserFieldChange(UserField.LAST_NAME, "Smith", "Taylor")));
+        userAutocompleteIndex.onUserEvent(toTaylor);
+        userAutocompleteIndex.onUserEvent(UserEventDTO.updated(janeAt(3L),
+                List.of(new UserFieldChange(UserField.LAST_NAME, "Taylor", "Brown"))));
+
+        userAutocompleteIndex.onUserEvent(toTaylor);
+
+        assertThat(userAutocompleteIndex.suggest("taylor", 10)).isEmpty();
+        assertThat(userAutocompleteIndex.suggest("brown", 10))
+                .extracting(UserSuggestion::getId)
+                .containsExactly(2L);
+    }
+
+    private User janeAt(Long version) {
+        return User.builder().id(2L).role(User.UserRole.USER).status(User.UserStatus.ACTIVE).version(version).build();
+    }
+
+    private UserEventDTO event(UserEventDTO.EventType eventType, Long userId, String firstName, String lastName) {
+        return UserEventDTO.builder()
+                .eventType(eventType.name())
+                .userId(userId)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "@example.com")
+                .build();
+    }
+}
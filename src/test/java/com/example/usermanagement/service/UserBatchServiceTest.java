@@ -0,0 +1,98 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.dto.BatchUserResponse;
+import com.example.usermanagement.dto.UserRequest;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.kafka.UserEventProducer;
+import com.example.usermanagement.repository.UserRepository;
+import com.example.usermanagement.service.impl.UserBatchServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserEventProducer userEventProducer;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private UserBatchServiceImpl userBatchService;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        userBatchService = new UserBatchServiceImpl(userRepository, userEventProducer, entityManager, validator);
+        ReflectionTestUtils.setField(userBatchService, "batchSize", 2);
+    }
+
+    @Test
+    void createUsers_ReportsEachItemAndInsertsInChunks() {
+        AtomicLong ids = new AtomicLong();
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@example.com"));
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>(invocation.getArgument(0));
+            users.forEach(user -> user.setId(ids.incrementAndGet()));
+            return users;
+        });
+
+        BatchUserResponse response = userBatchService.createUsers(List.of(
+                request("first@example.com"),
+                request("not-an-email"),
+                request("taken@example.com"),
+                request("second@example.com"),
+                request("first@example.com"),
+                request("third@example.com")
+        ));
+
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults())
+                .extracting(BatchUserResponse.ItemResult::getStatus)
+                .containsExactly(
+                        BatchUserResponse.ItemStatus.CREATED,
+                        BatchUserResponse.ItemStatus.INVALID,
+                        BatchUserResponse.ItemStatus.DUPLICATE,
+                        BatchUserResponse.ItemStatus.CREATED,
+                        BatchUserResponse.ItemStatus.DUPLICATE,
+                        BatchUserResponse.ItemStatus.CREATED);
+        assertThat(response.getResults().get(5).getId()).isEqualTo(3L);
+
+        verify(userRepository, times(1)).findExistingEmails(anyCollection());
+        verify(userRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userEventProducer, times(1)).sendUserEvents(argThat(events -> events.size() == 3));
+    }
+
+    private UserRequest request(String email) {
+        return UserRequest.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email(email)
+                .role(User.UserRole.USER)
+                .build();
+    }
+}
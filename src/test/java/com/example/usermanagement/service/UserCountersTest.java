@@ -0,0 +1,117 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.dto.RoleStatusCount;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCountersTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserCounters userCounters;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userCounters = new UserCounters(userRepository, meterRegistry);
+        when(userRepository.countGroupedByRoleAndStatus()).thenReturn(List.of(
+                new RoleStatusCount(User.UserRole.USER, User.UserStatus.ACTIVE, 5L),
+                new RoleStatusCount(User.UserRole.ADMIN, User.UserStatus.ACTIVE, 2L),
+                new RoleStatusCount(User.UserRole.USER, User.UserStatus.PENDING, 1L)));
+        userCounters.seed();
+    }
+
+    @Test
+    void seed_LoadsGroupedCounts() {
+        assertThat(userCounters.isSeeded()).isTrue();
+        assertThat(userCounters.total()).isEqualTo(8L);
+        assertThat(userCounters.countByRole(User.UserRole.USER)).isEqualTo(6L);
+        assertThat(userCounters.countByStatus(User.UserStatus.ACTIVE)).isEqualTo(7L);
+    }
+
+    @Test
+    void onUserEvent_CreatedAndDeleted_MoveTotals() {
+        userCounters.onUserEvent(event(UserEventDTO.EventType.USER_CREATED, User.UserRole.MANAGER, User.UserStatus.ACTIVE));
+        userCounters.onUserEvent(event(UserEventDTO.EventType.USER_DELETED, User.UserRole.USER, User.UserStatus.PENDING));
+
+        assertThat(userCounters.countByRole(User.UserRole.MANAGER)).isEqualTo(1L);
+        assertThat(userCounters.countByStatus(User.UserStatus.PENDING)).isZero();
+        assertThat(userCounters.total()).isEqualTo(8L);
+    }
+
+    @Test
+    void onUserEvent_Updated_MovesBetweenCells() {
+        UserEventDTO event = event(UserEventDTO.EventType.USER_UPDATED, User.UserRole.USER, User.UserStatus.SUSPENDED);
+        event.setPreviousRole(User.UserRole.USER);
+        event.setPreviousStatus(User.UserStatus.ACTIVE);
+
+        userCounters.onUserEvent(event);
+
+        assertThat(userCounters.count(User.UserRole.USER, User.UserStatus.ACTIVE)).isEqualTo(4L);
+        assertThat(userCounters.count(User.UserRole.USER, User.UserStatus.SUSPENDED)).isEqualTo(1L);
+        assertThat(userCounters.total()).isEqualTo(8L);
+    }
+
+    @Test
+    void onUserEvent_UpdatedWithoutPreviousValues_IsIgnored() {
+        userCounters.onUserEvent(event(UserEventDTO.EventType.USER_UPDATED, User.UserRole.ADMIN, User.UserStatus.INACTIVE));
+
+        assertThat(userCounters.count(User.UserRole.ADMIN, User.UserStatus.INACTIVE)).isZero();
+    }
+
+    @Test
+    void reconcile_CorrectsDriftSeenInTwoRoundsAndRecordsGauge() {
+        userCounters.onUserEvent(event(UserEventDTO.EventType.USER_CREATED, User.UserRole.USER, User.UserStatus.ACTIVE));
+
+        userCounters.reconcile();
+
+        assertThat(userCounters.count(User.UserRole.USER, User.UserStatus.ACTIVE)).isEqualTo(6L);
+        assertThat(userCounters.getLastDrift()).isZero();
+
+        userCounters.reconcile();
+
+        assertThat(userCounters.count(User.UserRole.USER, User.UserStatus.ACTIVE)).isEqualTo(5L);
+        assertThat(userCounters.getLastDrift()).isEqualTo(1L);
+        assertThat(meterRegistry.get("user.counters.drift").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void reconcile_LeavesDriftSeenInOneRoundOnly() {
+        // The database already has the new user; its after-commit event arrives between rounds.
+        when(userRepository.countGroupedByRoleAndStatus()).thenReturn(List.of(
+                new RoleStatusCount(User.UserRole.USER, User.UserStatus.ACTIVE, 6L),
+                new RoleStatusCount(User.UserRole.ADMIN, User.UserStatus.ACTIVE, 2L),
+                new RoleStatusCount(User.UserRole.USER, User.UserStatus.PENDING, 1L)));
+
+        userCounters.reconcile();
+        userCounters.onUserEvent(event(UserEventDTO.EventType.USER_CREATED, User.UserRole.USER, User.UserStatus.ACTIVE));
+        userCounters.reconcile();
+
+        assertThat(userCounters.count(User.UserRole.USER, User.UserStatus.ACTIVE)).isEqualTo(6L);
+        assertThat(userCounters.getLastDrift()).isZero();
+    }
+
+    private UserEventDTO event(UserEventDTO.EventType type, User.UserRole role, User.UserStatus status) {
+        return UserEventDTO.builder()
+                .eventType(type.name())
+                .userId(42L)
+                .role(role)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.dto.ExportFormat;
+import com.example.usermanagement.dto.UserExportFilter;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.repository.UserRepository;
+import com.example.usermanagement.service.impl.UserExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Range;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserExportServiceImpl userExportService;
+
+    @BeforeEach
+    void setUp() {
+        userExportService = exportService(4);
+    }
+
+    private UserExportServiceImpl exportService(int maxParallelReaders) {
+        UserExportServiceImpl service = new UserExportServiceImpl(userRepository,
+                new JacksonConfig().objectMapper(), transactionManager, new SimpleAsyncTaskExecutor("export-"),
+                maxParallelReaders);
+        ReflectionTestUtils.setField(service, "fetchSize", 500);
+        ReflectionTestUtils.setField(service, "bufferSize", 1024);
+        ReflectionTestUtils.setField(service, "queueCapacity", 2);
+        return service;
+    }
+
+    @Test
+    void exportUsers_Csv_WritesHeaderAndEscapedRows() throws Exception {
+        when(userRepository.streamUsers(any(), eq(500))).thenReturn(Stream.of(
+                user(1L, "John", "Doe"),
+                user(2L, "Jane", "Smith, Jr.")
+        ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = userExportService.exportUsers(ExportFormat.CSV, new UserExportFilter(), 1, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,firstName,lastName,email");
+        assertThat(lines[1]).startsWith("1,John,Doe,john@example.com,");
+        assertThat(lines[2]).startsWith("2,Jane,\"Smith, Jr.\",jane@example.com,");
+    }
+
+    @Test
+    void exportUsers_NdjsonInPartitions_WritesEveryRowOnce() throws Exception {
+        when(userRepository.findIdRange(any())).thenReturn(Optional.of(Range.closed(1L, 4L)));
+        when(userRepository.streamUsers(any(), anyInt())).thenReturn(
+                Stream.of(user(1L, "John", "Doe"), user(2L, "Jane", "Doe")),
+                Stream.of(user(3L, "Jim", "Doe"), user(4L, "Joe", "Doe")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = userExportService.exportUsers(
+                ExportFormat.NDJSON,
+                UserExportFilter.builder().role(User.UserRole.USER).build(),
+                2,
+                out);
+
+        assertThat(rows).isEqualTo(4);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n"))
+                .hasSize(4)
+                .allMatch(line -> line.startsWith("{\"id\":"));
+        verify(userRepository, times(2)).streamUsers(any(), anyInt());
+    }
+
+    @Test
+    void exportUsers_NoFreeReaders_FallsBackToSequential() throws Exception {
+        userExportService = exportService(1);
+        Semaphore readerPermits = (Semaphore) ReflectionTestUtils.getField(userExportService, "readerPermits");
+        when(userRepository.streamUsers(any(), anyInt())).thenReturn(
+                Stream.of(user(1L, "John", "Doe"), user(2L, "Jane", "Doe")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = userExportService.exportUsers(ExportFormat.NDJSON, new UserExportFilter(), 4, out);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(readerPermits.availablePermits()).isEqualTo(1);
+        verify(userRepository, never()).findIdRange(any());
+        verify(userRepository, times(1)).streamUsers(any(), anyInt());
+    }
+
+    private User user(Long id, String firstName, String lastName) {
+        return User.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "@example.com")
+                .role(User.UserRole.USER)
+                .status(User.UserStatus.ACTIVE)
+                .build();
+    }
+}
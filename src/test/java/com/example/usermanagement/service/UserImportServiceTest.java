@@ -0,0 +1,193 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.config.JacksonConfig;
+import com.example.usermanagement.dto.BatchUserResponse;
+import com.example.usermanagement.dto.ExportFormat;
+import com.example.usermanagement.dto.ImportJobStatus;
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.exception.DuplicateImportJobException;
+import com.example.usermanagement.exception.InvalidImportFileException;
+import com.example.usermanagement.kafka.UserEventProducer;
+import com.example.usermanagement.repository.UserRepository;
+import com.example.usermanagement.service.impl.UserImportServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserBatchService userBatchService;
+
+    @Mock
+    private UserEventProducer userEventProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportServiceImpl(
+                userRepository,
+                userBatchService,
+                userEventProducer,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager,
+                new JacksonConfig().objectMapper());
+        ReflectionTestUtils.setField(userImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(userImportService, "maxReportedRejections", 10);
+        ReflectionTestUtils.setField(userImportService, "retainedJobs", 10);
+        ReflectionTestUtils.setField(userImportService, "maxRecordLength", 256);
+    }
+
+    @Test
+    void importUsers_CsvWithCopy_WritesChunksAndReportsRejections() throws Exception {
+        AtomicLong ids = new AtomicLong();
+        when(userRepository.supportsCopyImport()).thenReturn(true);
+        when(userRepository.copyInsertIgnoringDuplicates(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            return users.stream()
+                    .filter(user -> !user.getEmail().equals("taken@example.com"))
+                    .peek(user -> user.setId(ids.incrementAndGet()))
+                    .collect(Collectors.toList());
+        });
+
+        String csv = "firstName,lastName,email,role,bio\n" +
+                "John,Doe,john@example.com,USER,\"Likes commas, and \"\"quotes\"\"\"\n" +
+                "Jane,Doe,not-an-email,USER,\n" +
+                "Jim,Doe,taken@example.com,USER,\n" +
+                "Joe,Doe,joe@example.com,WIZARD,\n" +
+                "Ann,Lee,ann@example.com,ADMIN,\"multi\nline\"\n";
+
+        ImportJobStatus status = userImportService.importUsers("job-1", ExportFormat.CSV, body(csv));
+
+        assertThat(status.getState()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(status.getRowsRead()).isEqualTo(5);
+        assertThat(status.getCreated()).isEqualTo(2);
+        assertThat(status.getRejected()).isEqualTo(3);
+        assertThat(status.getChunksCompleted()).isEqualTo(2);
+        assertThat(status.getRejections())
+                .extracting(ImportJobStatus.Rejection::getRow)
+                .containsExactlyInAnyOrder(3L, 4L, 5L);
+        verify(userRepository, times(2)).copyInsertIgnoringDuplicates(anyList());
+        verify(userEventProducer, times(2)).sendUserEvents(argThat(events -> events.size() == 1));
+        verifyNoInteractions(userBatchService);
+        assertThat(userImportService.getImportJob("job-1").getCreated()).isEqualTo(2);
+    }
+
+    @Test
+    void importUsers_NdjsonWithoutCopy_FallsBackToBatchInserts() throws Exception {
+        when(userRepository.supportsCopyImport()).thenReturn(false);
+        when(userBatchService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<?> requests = invocation.getArgument(0);
+            return BatchUserResponse.builder()
+                    .results(IntStream.range(0, requests.size())
+                            .mapToObj(i -> BatchUserResponse.ItemResult.builder()
+                                    .index(i)
+                                    .status(BatchUserResponse.ItemStatus.CREATED)
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .build();
+        });
+
+        String ndjson = "{\"id\":7,\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john@example.com\",\"role\":\"USER\"}\n" +
+                "\n" +
+                "{not json}\n" +
+                "{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane@example.com\",\"role\":\"USER\"}\n";
+
+        ImportJobStatus status = userImportService.importUsers(null, ExportFormat.NDJSON, body(ndjson));
+
+        assertThat(status.getCreated()).isEqualTo(2);
+        assertThat(status.getRejected()).isEqualTo(1);
+        assertThat(status.getRejections().get(0).getRow()).isEqualTo(3L);
+        verify(userBatchService, times(1)).createUsers(anyList());
+        verify(userRepository, never()).copyInsertIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    void importUsers_DuplicateJobId_ThrowsConflict() throws Exception {
+        userImportService.importUsers("job-1", ExportFormat.CSV, body(""));
+
+        assertThatThrownBy(() -> userImportService.importUsers("job-1", ExportFormat.CSV, body("")))
+                .isInstanceOf(DuplicateImportJobException.class)
+                .hasMessageContaining("job-1");
+    }
+
+    @Test
+    void importUsers_RecordTooLong_FailsJob() {
+        String csv = "firstName,lastName,email,role,bio\n" +
+                "John,Doe,john@example.com,USER,\"never closed" + "x".repeat(300) + "\n";
+
+        assertThatThrownBy(() -> userImportService.importUsers("job-1", ExportFormat.CSV, body(csv)))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("256");
+        assertThat(userImportService.getImportJob("job-1").getState()).isEqualTo(ImportJobStatus.State.FAILED);
+        verifyNoInteractions(userBatchService);
+    }
+
+    @Test
+    void importUsers_UnterminatedQuote_RejectsFile() {
+        String csv = "firstName,lastName,email,role,bio\n" +
+                "John,Doe,john@example.com,USER,\"never closed\n";
+
+        assertThatThrownBy(() -> userImportService.importUsers("job-1", ExportFormat.CSV, body(csv)))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("quoted field");
+        assertThat(userImportService.getImportJob("job-1").getState()).isEqualTo(ImportJobStatus.State.FAILED);
+    }
+
+    @Test
+    void importUsers_NdjsonNullLine_RejectsRow() throws Exception {
+        when(userRepository.supportsCopyImport()).thenReturn(true);
+        when(userRepository.copyInsertIgnoringDuplicates(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        String ndjson = "null\n" +
+                "{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane@example.com\",\"role\":\"USER\"}\n";
+
+        ImportJobStatus status = userImportService.importUsers(null, ExportFormat.NDJSON, body(ndjson));
+
+        assertThat(status.getState()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(status.getCreated()).isEqualTo(1);
+        assertThat(status.getRejections()).singleElement().satisfies(rejection -> {
+            assertThat(rejection.getRow()).isEqualTo(1L);
+            assertThat(rejection.getErrors()).containsExactly("Expected a JSON object");
+        });
+    }
+
+    @Test
+    void importUsers_NdjsonLineTooLong_FailsJob() {
+        String ndjson = "{\"firstName\":\"" + "x".repeat(300) + "\"}\n";
+
+        assertThatThrownBy(() -> userImportService.importUsers(null, ExportFormat.NDJSON, body(ndjson)))
+                .isInstanceOf(InvalidImportFileException.class);
+    }
+
+    private ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.usermanagement.service;
+
+import com.example.usermanagement.entity.User;
+import com.example.usermanagement.exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceMetricsAspectTest {
+
+    @Mock
+    private UserService target;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new UserServiceMetricsAspect(meterRegistry));
+        userService = factory.getProxy();
+    }
+
+    @Test
+    void time_Success_TagsOperationAndRole() {
+        when(target.countUsersByRole(User.UserRole.ADMIN)).thenReturn(3L);
+
+        assertThat(userService.countUsersByRole(User.UserRole.ADMIN)).isEqualTo(3L);
+
+        assertThat(meterRegistry.get(UserServiceMetricsAspect.TIMER)
+                .tags("operation", "countUsersByRole", "outcome", "success", "exception", "none",
+                        "role", "ADMIN", "status", "none")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void time_DomainException_IsClientError() {
+        when(target.getUserById(7L)).thenThrow(new UserNotFoundException(7L));
+
+        assertThatThrownBy(() -> userService.getUserById(7L)).isInstanceOf(UserNotFoundException.class);
+
+        assertThat(meterRegistry.get(UserServiceMetricsAspect.TIMER)
+                .tags("operation", "getUserById", "outcome", "client_error", "exception", "UserNotFoundException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void time_UnexpectedException_IsError() {
+        when(target.countUsersByStatus(User.UserStatus.ACTIVE)).thenThrow(new IllegalStateException("db down"));
+
+        assertThatThrownBy(() -> userService.countUsersByStatus(User.UserStatus.ACTIVE))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(UserServiceMetricsAspect.TIMER)
+                .tags("operation", "countUsersByStatus", "outcome", "error", "status", "ACTIVE")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -1,9 +1,20 @@
 package com.example.usermanagement.service;
 
+import com.example.usermanagement.config.CacheConfig;
+import com.example.usermanagement.dto.CreatedDayCount;
+import com.example.usermanagement.dto.PageTotalMode;
+import com.example.usermanagement.dto.RoleStatusCount;
+import com.example.usermanagement.dto.StatsBucket;
+import com.example.usermanagement.dto.UserEventDTO;
+import com.example.usermanagement.dto.UserField;
+import com.example.usermanagement.dto.UserFieldChange;
+import com.example.usermanagement.dto.UserPatchRequest;
 import com.example.usermanagement.dto.UserRequest;
 import com.example.usermanagement.dto.UserResponse;
+import com.example.usermanagement.dto.UserStatsResponse;
 import com.example.usermanagement.entity.User;
 import com.example.usermanagement.exception.DuplicateEmailException;
+import com.example.usermanagement.exception.InvalidCursorException;
 import com.example.usermanagement.exception.UserNotFoundException;
 import com.example.usermanagement.kafka.UserEventProducer;
 import com.example.usermanagement.repository.UserRepository;
@@ -11,22 +22,35 @@ import com.example.usermanagement.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +62,15 @@ class UserServiceTest {
     @Mock
     private UserEventProducer userEventProducer;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private UserAutocompleteIndex userAutocompleteIndex;
+
+    @Mock
+    private UserCounters userCounters;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -111,17 +144,93 @@ class UserServiceTest {
 
     @Test
     void getAllUsers_Success() {
-        List<User> users = Arrays.asList(testUser);
-        Page<User> userPage = new PageImpl<>(users);
+        List<UserResponse> users = Arrays.asList(UserResponse.fromEntity(testUser));
+        Page<UserResponse> userPage = new PageImpl<>(users);
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(userRepository.findAll(pageable)).thenReturn(userPage);
+        when(userRepository.findResponses(any(), eq(pageable), eq(UserField.all()))).thenReturn(userPage);
 
         var response = userService.getAllUsers(pageable);
 
         assertThat(response).isNotNull();
         assertThat(response.getContent()).hasSize(1);
-        verify(userRepository, times(1)).findAll(pageable);
+        verify(userRepository, times(1)).findResponses(any(), eq(pageable), eq(UserField.all()));
+        verify(userRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getAllUsers_WithoutTotal_SkipsCountQuery() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(userRepository.findResponseSlice(any(), eq(pageable), eq(UserField.all())))
+                .thenReturn(new SliceImpl<>(List.of(UserResponse.fromEntity(testUser)), pageable, false));
+
+        var response = userService.getAllUsers(pageable, PageTotalMode.NONE);
+
+        assertThat(response.getContent()).hasSize(1);
+        assertThat(response.getTotalElements()).isNull();
+        assertThat(response.getTotalPages()).isNull();
+        assertThat(response.isLast()).isTrue();
+        verify(userRepository, never()).findResponses(any(), any(Pageable.class), any());
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    void getUsersByRole_ApproximateTotal_CountsOncePerPredicate() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(userRepository.findResponseSlice(any(), eq(pageable), eq(UserField.all())))
+                .thenReturn(new SliceImpl<>(List.of(UserResponse.fromEntity(testUser)), pageable, true));
+        when(userRepository.countByRole(User.UserRole.USER)).thenReturn(42L);
+        when(cacheManager.getCache(CacheConfig.USER_COUNTS_CACHE))
+                .thenReturn(new ConcurrentMapCache(CacheConfig.USER_COUNTS_CACHE));
+
+        var first = userService.getUsersByRole(User.UserRole.USER, pageable, PageTotalMode.APPROXIMATE);
+        var second = userService.getUsersByRole(User.UserRole.USER, pageable, PageTotalMode.APPROXIMATE);
+
+        assertThat(first.getTotalElements()).isEqualTo(42L);
+        assertThat(first.getTotalPages()).isEqualTo(42);
+        assertThat(first.isApproximateTotal()).isTrue();
+        assertThat(second.getTotalElements()).isEqualTo(42L);
+        verify(userRepository, times(1)).countByRole(User.UserRole.USER);
+    }
+
+    @Test
+    void getUsersByCity_ProjectsOnlyRequestedFields() {
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.EMAIL);
+        UserResponse projected = UserResponse.builder().id(1L).email("john.doe@example.com").build();
+        when(userRepository.findResponses(any(), eq(Sort.by("id")), eq(fields))).thenReturn(List.of(projected));
+
+        var response = userService.getUsersByCity("New York", fields);
+
+        assertThat(response).extracting(UserResponse::getEmail).containsExactly("john.doe@example.com");
+        assertThat(response.get(0).getBio()).isNull();
+        verify(userRepository, never()).findByCity(anyString());
+    }
+
+    @Test
+    void getAllUsers_WithCursor_ReturnsNextCursor() {
+        Window<User> window = Window.from(List.of(testUser), index -> ScrollPosition.forward(Map.of("id", 1L)), true);
+        when(userRepository.scrollUsers(any(), any(), eq(1), any())).thenReturn(window);
+
+        var firstPage = userService.getAllUsers("", 1, Sort.by("id"));
+
+        assertThat(firstPage.getContent()).hasSize(1);
+        assertThat(firstPage.isFirst()).isTrue();
+        assertThat(firstPage.isLast()).isFalse();
+        assertThat(firstPage.getNextCursor()).isNotBlank();
+        assertThat(firstPage.getTotalElements()).isNull();
+
+        userService.getAllUsers(firstPage.getNextCursor(), 1, Sort.by("id"));
+
+        verify(userRepository, times(1)).scrollUsers(
+                any(), eq(Sort.by("id")), eq(1), eq(ScrollPosition.forward(Map.of("id", 1L))));
+    }
+
+    @Test
+    void getAllUsers_WithCursorOnNullableColumn_ThrowsException() {
+        assertThatThrownBy(() -> userService.getAllUsers("", 10, Sort.by("city")))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verify(userRepository, never()).scrollUsers(any(), any(), anyInt(), any());
     }
 
     @Test
@@ -136,17 +245,90 @@ class UserServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(userRepository.existsByEmail("john.updated@example.com")).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
         doNothing().when(userEventProducer).sendUserEvent(any());
 
         UserResponse response = userService.updateUser(1L, updateRequest);
 
         assertThat(response).isNotNull();
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
         verify(userEventProducer, times(1)).sendUserEvent(any());
         verify(userRepository, times(1)).existsByEmail("john.updated@example.com");
     }
 
+    @Test
+    void patchUser_ChangedField_SavesAndSendsEvent() {
+        UserPatchRequest patchRequest = UserPatchRequest.builder()
+                .lastName("Updated")
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+
+        UserResponse response = userService.patchUser(1L, patchRequest);
+
+        assertThat(response.getLastName()).isEqualTo("Updated");
+        assertThat(response.getFirstName()).isEqualTo("John");
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(userEventProducer, times(1)).sendUserEvent(any());
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void patchUser_EventCarriesOnlyChangedFields() {
+        UserPatchRequest patchRequest = UserPatchRequest.builder()
+                .lastName("Updated")
+                .role(User.UserRole.ADMIN)
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+
+        userService.patchUser(1L, patchRequest);
+
+        ArgumentCaptor<UserEventDTO> event = ArgumentCaptor.forClass(UserEventDTO.class);
+        verify(userEventProducer).sendUserEvent(event.capture());
+        assertThat(event.getValue().getEventType()).isEqualTo("USER_UPDATED");
+        assertThat(UserField.fromMask(event.getValue().getChangedFields()))
+                .containsExactly(UserField.LAST_NAME, UserField.ROLE);
+        assertThat(event.getValue().getChanges())
+                .extracting(UserFieldChange::getOldValue, UserFieldChange::getNewValue)
+                .containsExactly(tuple("Doe", "Updated"), tuple("USER", "ADMIN"));
+        assertThat(event.getValue().getPreviousRole()).isEqualTo(User.UserRole.USER);
+        assertThat(event.getValue().getEmail()).isNull();
+    }
+
+    @Test
+    void patchUser_NoChanges_SkipsSaveAndEvent() {
+        UserPatchRequest patchRequest = UserPatchRequest.builder()
+                .firstName("John")
+                .email("john.doe@example.com")
+                .status(User.UserStatus.ACTIVE)
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        UserResponse response = userService.patchUser(1L, patchRequest);
+
+        assertThat(response.getEmail()).isEqualTo("john.doe@example.com");
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verify(userEventProducer, never()).sendUserEvent(any());
+    }
+
+    @Test
+    void patchUser_DuplicateEmail_ThrowsException() {
+        UserPatchRequest patchRequest = UserPatchRequest.builder()
+                .email("taken@example.com")
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsByEmail("taken@example.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.patchUser(1L, patchRequest))
+                .isInstanceOf(DuplicateEmailException.class);
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
     @Test
     void deleteUser_Success() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
@@ -174,6 +356,53 @@ class UserServiceTest {
         verify(userRepository, times(1)).searchUsers(anyString(), any(Pageable.class));
     }
 
+    @Test
+    void getUserStats_UsesOneGroupedQueryAndFillsMatrix() {
+        when(userRepository.countGroupedByRoleAndStatus()).thenReturn(List.of(
+                new RoleStatusCount(User.UserRole.USER, User.UserStatus.ACTIVE, 5L),
+                new RoleStatusCount(User.UserRole.ADMIN, User.UserStatus.ACTIVE, 2L),
+                new RoleStatusCount(User.UserRole.ANALYST, User.UserStatus.PENDING, 1L)));
+        when(userRepository.countGroupedByCreatedDay()).thenReturn(List.of(
+                new CreatedDayCount(2025, 3, 3, 4L),
+                new CreatedDayCount(2025, 3, 9, 2L),
+                new CreatedDayCount(2025, 3, 10, 1L)));
+
+        UserStatsResponse stats = userService.getUserStats(false, StatsBucket.WEEK);
+
+        assertThat(stats.getTotalUsers()).isEqualTo(8L);
+        assertThat(stats.getActiveUsers()).isEqualTo(7L);
+        assertThat(stats.getByRole().get(User.UserRole.ANALYST)).isEqualTo(1L);
+        assertThat(stats.getByRoleAndStatus().get(User.UserRole.GUEST).get(User.UserStatus.SUSPENDED)).isZero();
+        assertThat(stats.getByCountry()).isNull();
+        assertThat(stats.getCreatedOverTime())
+                .extracting(UserStatsResponse.CreatedBucketCount::getCount)
+                .containsExactly(6L, 1L);
+        verify(userRepository, never()).countByStatus(any());
+        verify(userRepository, never()).countGroupedByCountry();
+    }
+
+    @Test
+    void getUserStats_ReadsLiveCountersAndCachesBreakdowns() {
+        when(userCounters.isSeeded()).thenReturn(true);
+        when(userCounters.count(any(), any())).thenAnswer(invocation ->
+                invocation.getArgument(0) == User.UserRole.ADMIN && invocation.getArgument(1) == User.UserStatus.ACTIVE
+                        ? 3L
+                        : 0L);
+        when(cacheManager.getCache(CacheConfig.USER_STATS_CACHE)).thenReturn(new ConcurrentMapCache("userStats"));
+        when(userRepository.countGroupedByCountry()).thenReturn(List.of());
+
+        userService.getUserStats(true, null);
+        UserStatsResponse stats = userService.getUserStats(true, null);
+
+        assertThat(stats.getTotalUsers()).isEqualTo(3L);
+        assertThat(stats.getAdmins()).isEqualTo(3L);
+        assertThat(stats.getByCountry()).isEmpty();
+        assertThat(stats.getGeneratedAt()).isNotNull();
+        assertThat(stats.getStalenessSeconds()).isGreaterThanOrEqualTo(0L);
+        verify(userRepository, times(1)).countGroupedByCountry();
+        verify(userRepository, never()).countGroupedByRoleAndStatus();
+    }
+
     @Test
     void countUsersByStatus_Success() {
         when(userRepository.countByStatus(User.UserStatus.ACTIVE)).thenReturn(5L);
@@ -183,4 +412,15 @@ class UserServiceTest {
         assertThat(count).isEqualTo(5L);
         verify(userRepository, times(1)).countByStatus(User.UserStatus.ACTIVE);
     }
+
+    @Test
+    void countUsersByRole_UsesLiveCountersOnceSeeded() {
+        when(userCounters.isSeeded()).thenReturn(true);
+        when(userCounters.countByRole(User.UserRole.ADMIN)).thenReturn(3L);
+
+        long count = userService.countUsersByRole(User.UserRole.ADMIN);
+
+        assertThat(count).isEqualTo(3L);
+        verify(userRepository, never()).countByRole(any());
+    }
 }